@@ -0,0 +1,113 @@
+package com.example.calendar.benchmark;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.auth.UserRepository;
+import com.example.calendar.availability.AvailabilityDTO;
+import com.example.calendar.availability.AvailabilityRequestDTO;
+import com.example.calendar.availability.AvailabilityService;
+import com.example.calendar.availability.AvailabilitySlotDTO;
+import com.example.calendar.availability.FreeBusyStore;
+import com.example.calendar.availability.RankedSlotDTO;
+import com.example.calendar.availability.WorkingHoursRepository;
+import com.example.calendar.availability.WorkingHoursService;
+import com.example.calendar.events.Event;
+import com.example.calendar.events.EventRepository;
+import com.example.calendar.shared.ChangeVersionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Slot generation and conflict filtering in AvailabilityService over
+ * synthetic calendars, with repositories answered from memory. Busy time is
+ * served by a warm free/busy store after the first invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityBenchmark {
+
+    @Param({"2", "10", "50"})
+    public int participants;
+
+    @Param({"20", "200"})
+    public int eventsPerParticipant;
+
+    private AvailabilityService availabilityService;
+    private AvailabilityRequestDTO request;
+    private User requester;
+    private List<String> emails;
+    private Instant proposedStart;
+    private Instant proposedEnd;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkFixtures.users(participants);
+        Map<String, User> usersByEmail = new HashMap<>();
+        Map<UUID, List<Event>> calendars = new HashMap<>();
+        for (User user : users) {
+            usersByEmail.put(user.getEmail(), user);
+            calendars.put(user.getId(), BenchmarkFixtures.calendar(user, eventsPerParticipant));
+        }
+
+        Map<String, Function<Object[], Object>> userAnswers = BenchmarkFixtures.answers();
+        userAnswers.put("findByEmail", args -> Optional.ofNullable(usersByEmail.get((String) args[0])));
+        Map<String, Function<Object[], Object>> eventAnswers = BenchmarkFixtures.answers();
+        eventAnswers.put("findByOrganizerAndDateRange", args -> calendars.getOrDefault((UUID) args[0], List.of()));
+
+        Map<String, Function<Object[], Object>> workingHoursAnswers = BenchmarkFixtures.answers();
+        workingHoursAnswers.put("findById", args -> Optional.empty());
+        WorkingHoursService workingHoursService = new WorkingHoursService();
+        ReflectionTestUtils.setField(workingHoursService, "workingHoursRepository",
+                BenchmarkFixtures.stubRepository(WorkingHoursRepository.class, workingHoursAnswers));
+
+        EventRepository eventRepository = BenchmarkFixtures.stubRepository(EventRepository.class, eventAnswers);
+        ChangeVersionService changeVersionService = new ChangeVersionService();
+        ReflectionTestUtils.setField(changeVersionService, "cacheManager", new ConcurrentMapCacheManager("changeVersions"));
+        FreeBusyStore freeBusyStore = new FreeBusyStore();
+        ReflectionTestUtils.setField(freeBusyStore, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(freeBusyStore, "changeVersionService", changeVersionService);
+
+        availabilityService = new AvailabilityService();
+        ReflectionTestUtils.setField(availabilityService, "workingHoursService", workingHoursService);
+        ReflectionTestUtils.setField(availabilityService, "freeBusyStore", freeBusyStore);
+        ReflectionTestUtils.setField(availabilityService, "calendarMetrics", BenchmarkFixtures.disabledMetrics());
+        ReflectionTestUtils.setField(availabilityService, "userRepository",
+                BenchmarkFixtures.stubRepository(UserRepository.class, userAnswers));
+        ReflectionTestUtils.setField(availabilityService, "eventRepository", eventRepository);
+
+        requester = users.get(0);
+        emails = users.stream().map(User::getEmail).toList();
+        request = new AvailabilityRequestDTO(emails, BenchmarkFixtures.WINDOW_START, BenchmarkFixtures.WINDOW_END, 30);
+        proposedStart = BenchmarkFixtures.WINDOW_START.plus(Duration.ofDays(1)).plus(Duration.ofHours(10));
+        proposedEnd = proposedStart.plus(Duration.ofMinutes(30));
+    }
+
+    @Benchmark
+    public List<AvailabilitySlotDTO> findAvailableSlots() {
+        return availabilityService.findAvailableSlots(request, requester);
+    }
+
+    @Benchmark
+    public List<RankedSlotDTO> findOptimalSlots() {
+        return availabilityService.findOptimalSlots(request, requester);
+    }
+
+    @Benchmark
+    public List<AvailabilityDTO> checkParticipantsAvailability() {
+        return availabilityService.checkParticipantsAvailability(proposedStart, proposedEnd, emails);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.calendar.benchmark;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.events.Event;
+import com.example.calendar.shared.CalendarMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic calendars and in-memory repository stubs shared by the benchmarks.
+ * Data is generated from a fixed seed so runs are comparable across releases.
+ */
+public final class BenchmarkFixtures {
+
+    public static final Instant WINDOW_START = Instant.parse("2030-01-07T00:00:00Z");
+    public static final Instant WINDOW_END = WINDOW_START.plus(Duration.ofDays(14));
+
+    private static final long SEED = 42L;
+    private static final String[] TIMEZONES = {
+        "UTC", "America/New_York", "Europe/Berlin", "Asia/Tokyo", "Australia/Sydney"
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User user(int index) {
+        User user = new User();
+        user.setId(new UUID(0L, index + 1L));
+        user.setEmail("user" + index + "@example.com");
+        user.setGoogleSub("sub-" + index);
+        user.setDisplayName("User " + index);
+        user.setTimezone(TIMEZONES[index % TIMEZONES.length]);
+        return user;
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    /**
+     * Generate events for an organizer spread over the benchmark window,
+     * 15 to 120 minutes long, ordered by start time like the database returns them
+     */
+    public static List<Event> calendar(User organizer, int eventCount) {
+        Random random = new Random(SEED + organizer.getId().getLeastSignificantBits());
+        long windowMinutes = Duration.between(WINDOW_START, WINDOW_END).toMinutes();
+        List<Event> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            Instant start = WINDOW_START.plus(Duration.ofMinutes(random.nextInt((int) windowMinutes / 15) * 15L));
+            Event event = new Event();
+            event.setId(new UUID(organizer.getId().getLeastSignificantBits(), i));
+            event.setOrganizer(organizer);
+            event.setTitle("Event " + i);
+            event.setDescription("Synthetic benchmark event " + i);
+            event.setStartDateTime(start);
+            event.setEndDateTime(start.plus(Duration.ofMinutes(15L * (1 + random.nextInt(8)))));
+            event.setTimezone(organizer.getTimezone());
+            event.setLocation("Room " + (i % 10));
+            events.add(event);
+        }
+        events.sort((a, b) -> a.getStartDateTime().compareTo(b.getStartDateTime()));
+        return events;
+    }
+
+    /**
+     * Metrics with recording switched off, as services run without a Spring context
+     */
+    public static CalendarMetrics disabledMetrics() {
+        return new CalendarMetrics(new SimpleMeterRegistry(), false);
+    }
+
+    /**
+     * Build an ICS document with the given number of single-occurrence events
+     */
+    public static String icsDocument(int eventCount) {
+        StringBuilder ics = new StringBuilder(eventCount * 256);
+        ics.append("BEGIN:VCALENDAR\n")
+           .append("VERSION:2.0\n")
+           .append("PRODID:-//Calendar Benchmark//EN\n")
+           .append("CALSCALE:GREGORIAN\n");
+        for (int i = 0; i < eventCount; i++) {
+            int day = 1 + (i / 8) % 28;
+            int hour = 9 + (i % 8);
+            ics.append("BEGIN:VEVENT\n")
+               .append("UID:bench-event-").append(i).append("@example.com\n")
+               .append("DTSTAMP:20300101T120000Z\n")
+               .append(String.format("DTSTART:203001%02dT%02d0000Z\n", day, hour))
+               .append(String.format("DTEND:203001%02dT%02d3000Z\n", day, hour))
+               .append("SUMMARY:Benchmark Event ").append(i).append('\n')
+               .append("DESCRIPTION:Generated event for benchmarking\n")
+               .append("LOCATION:Room ").append(i % 10).append('\n')
+               .append("END:VEVENT\n");
+        }
+        ics.append("END:VCALENDAR\n");
+        return ics.toString();
+    }
+
+    /**
+     * Create an in-memory implementation of a Spring Data repository interface.
+     * Methods named in {@code answers} are delegated to the given function; any
+     * other method returns an empty value for its return type, and save returns
+     * its argument.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T stubRepository(Class<T> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return defaultAnswer(proxy, method, args);
+        };
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler);
+    }
+
+    public static Map<String, Function<Object[], Object>> answers() {
+        return new HashMap<>();
+    }
+
+    private static Object defaultAnswer(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "stub " + method.getDeclaringClass().getSimpleName();
+            case "save":
+                return args[0];
+            default:
+                break;
+        }
+        Class<?> type = method.getReturnType();
+        if (List.class.isAssignableFrom(type)) {
+            return Collections.emptyList();
+        }
+        if (Optional.class.equals(type)) {
+            return Optional.empty();
+        }
+        if (Stream.class.equals(type)) {
+            return Stream.empty();
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        return null;
+    }
+}
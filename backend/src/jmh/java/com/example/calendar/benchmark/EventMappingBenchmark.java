@@ -0,0 +1,64 @@
+package com.example.calendar.benchmark;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.events.Event;
+import com.example.calendar.events.EventDTO;
+import com.example.calendar.events.EventMapperImpl;
+import com.example.calendar.events.EventRepository;
+import com.example.calendar.events.EventService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Entity to DTO mapping and viewer localization in EventService for a
+ * calendar view of the given size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMappingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int events;
+
+    @Param({"UTC", "America/New_York"})
+    public String viewerTimezone;
+
+    private EventService eventService;
+    private User viewer;
+
+    @Setup
+    public void setUp() {
+        viewer = BenchmarkFixtures.user(0);
+        List<Event> calendar = BenchmarkFixtures.calendar(viewer, events);
+
+        Map<String, Function<Object[], Object>> eventAnswers = BenchmarkFixtures.answers();
+        eventAnswers.put("findVisibleInRange", args -> calendar);
+        eventAnswers.put("findAllVisible", args -> calendar);
+
+        eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "calendarMetrics", BenchmarkFixtures.disabledMetrics());
+        ReflectionTestUtils.setField(eventService, "eventRepository",
+                BenchmarkFixtures.stubRepository(EventRepository.class, eventAnswers));
+        ReflectionTestUtils.setField(eventService, "eventMapper", new EventMapperImpl());
+    }
+
+    @Benchmark
+    public List<EventDTO> getEventsByDateRange() {
+        return eventService.getEventsByDateRange(viewer, BenchmarkFixtures.WINDOW_START,
+                BenchmarkFixtures.WINDOW_END, true, viewerTimezone);
+    }
+
+    @Benchmark
+    public List<EventDTO> getAllEvents() {
+        return eventService.getAllEvents(viewer, true, viewerTimezone);
+    }
+}
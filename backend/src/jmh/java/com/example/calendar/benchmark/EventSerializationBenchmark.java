@@ -0,0 +1,137 @@
+package com.example.calendar.benchmark;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.events.CompactEventWriter;
+import com.example.calendar.events.Event;
+import com.example.calendar.events.EventDTO;
+import com.example.calendar.events.EventMapperImpl;
+import com.example.calendar.events.EventRepository;
+import com.example.calendar.events.EventService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Wire size and serialization CPU of an event list response, as the full
+ * EventDTO list in JSON or CBOR and as the compact grid view, with and
+ * without gzip. 35 events is a typical week, 150 a busy month; a third of
+ * the events come from other organizers, as accepted invitations do.
+ * Payload sizes are reported as the serialize:bytes and serialize:operations
+ * counters; their ratio is the wire size of one response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+
+    @Param({"35", "150"})
+    public int events;
+
+    @Param({"json", "cbor", "compact", "compact-cbor"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private User viewer;
+    private List<Event> calendar;
+    private List<EventDTO> dtos;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cborMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(new CBORFactory())
+                .build();
+
+        viewer = BenchmarkFixtures.user(0);
+        calendar = new ArrayList<>(BenchmarkFixtures.calendar(viewer, events - events / 3));
+        List<User> others = BenchmarkFixtures.users(6).subList(1, 6);
+        for (int i = 0; i < events / 3; i++) {
+            calendar.add(BenchmarkFixtures.calendar(others.get(i % others.size()), i + 1).get(i));
+        }
+        calendar.sort((a, b) -> a.getStartDateTime().compareTo(b.getStartDateTime()));
+
+        Map<String, Function<Object[], Object>> eventAnswers = BenchmarkFixtures.answers();
+        eventAnswers.put("findVisibleInRange", args -> calendar);
+        EventService eventService = new EventService();
+        ReflectionTestUtils.setField(eventService, "calendarMetrics", BenchmarkFixtures.disabledMetrics());
+        ReflectionTestUtils.setField(eventService, "eventRepository",
+                BenchmarkFixtures.stubRepository(EventRepository.class, eventAnswers));
+        ReflectionTestUtils.setField(eventService, "eventMapper", new EventMapperImpl());
+        dtos = eventService.getEventsByDateRange(viewer, BenchmarkFixtures.WINDOW_START,
+                BenchmarkFixtures.WINDOW_END, true, viewer.getTimezone());
+    }
+
+    /**
+     * Bytes written and responses serialized, per iteration
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            operations = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize payload) throws IOException {
+        byte[] written = serialize();
+        payload.bytes += written.length;
+        payload.operations++;
+        return written;
+    }
+
+    private byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * 1024);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            switch (format) {
+                case "json" -> jsonMapper.writeValue(out, dtos);
+                case "cbor" -> cborMapper.writeValue(out, dtos);
+                case "compact" -> writeCompact(jsonMapper.getFactory(), out);
+                case "compact-cbor" -> writeCompact(cborMapper.getFactory(), out);
+                default -> throw new IllegalArgumentException("Unknown format " + format);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeCompact(JsonFactory factory, OutputStream out) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            CompactEventWriter writer = new CompactEventWriter(generator, viewer.getId());
+            writer.writeStart();
+            for (Event event : calendar) {
+                writer.writeEvent(event);
+            }
+            writer.writeEnd(null);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.calendar.benchmark;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.events.EventRepository;
+import com.example.calendar.ics.ICSImportResultDTO;
+import com.example.calendar.ics.ICSImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ICS parsing and VEVENT to Event conversion, with persistence stubbed out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ICSImportBenchmark {
+
+    @Param({"100", "500", "2000"})
+    public int events;
+
+    private ICSImportService importService;
+    private MockMultipartFile file;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        importService = new ICSImportService();
+        ReflectionTestUtils.setField(importService, "calendarMetrics", BenchmarkFixtures.disabledMetrics());
+        ReflectionTestUtils.setField(importService, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        ReflectionTestUtils.setField(importService, "eventRepository",
+                BenchmarkFixtures.stubRepository(EventRepository.class, BenchmarkFixtures.answers()));
+        user = BenchmarkFixtures.user(0);
+        file = new MockMultipartFile("file", "benchmark.ics", "text/calendar",
+                BenchmarkFixtures.icsDocument(events).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public ICSImportResultDTO importICSFile() {
+        return importService.importICSFile(file, user);
+    }
+}
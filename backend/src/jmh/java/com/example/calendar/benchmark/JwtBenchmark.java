@@ -0,0 +1,53 @@
+package com.example.calendar.benchmark;
+
+import com.example.calendar.auth.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token validation and parsing, paid once per authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-key-with-at-least-256-bits-of-entropy");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        userId = UUID.randomUUID();
+        token = jwtUtil.generateToken(userId, "user@example.com");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateTokenForUser() {
+        return jwtUtil.validateToken(token, userId);
+    }
+
+    @Benchmark
+    public String extractUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userId, "user@example.com");
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.calendar.benchmark;
+
+import com.example.calendar.CalendarApplication;
+import com.example.calendar.auth.JwtUtil;
+import com.example.calendar.auth.User;
+import com.example.calendar.auth.UserRepository;
+import com.example.calendar.availability.AvailabilityRequestDTO;
+import com.example.calendar.events.Event;
+import com.example.calendar.events.EventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end throughput of POST /api/v1/availability with Tomcat's default
+ * platform thread pool versus one virtual thread per request
+ * (spring.threads.virtual.enabled). Each trial starts the application on a
+ * random port against a MySQL container, seeds the participants' calendars
+ * and sends bursts of concurrent requests over HTTP; one operation is a
+ * burst run to completion, so requests per second is the score times
+ * concurrentRequests.
+ *
+ * Requests go through security, rate limiting and the service as in
+ * production; each comes from its own X-Forwarded-For address so the
+ * per-client rate limit does not reject the load. Caches are primed before
+ * the first burst. Requests answered with an error (e.g. after waiting out
+ * the connection pool timeout) are counted as handleBurst:failed rather than
+ * aborting the run. Needs Docker, and a JDK 21 for the "virtual" mode: run
+ * with -P java21,jmh.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestExecutionBenchmark {
+
+    // Sequential requests that load the caches before the first burst
+    private static final int PRIMING_REQUESTS = 10;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "1000"})
+    public int concurrentRequests;
+
+    @Param({"5"})
+    public int participants;
+
+    @Param({"50"})
+    public int eventsPerParticipant;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI endpoint;
+    private String token;
+    private String body;
+    private int clientAddress;
+
+    @Setup
+    public void setUp() throws Exception {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            // Spring Boot ignores the property below Java 21, which would measure platform threads twice
+            throw new IllegalStateException("Virtual threads require Java 21; run with -P java21,jmh on a JDK 21");
+        }
+
+        mysql = new MySQLContainer<>("mysql:8.0")
+                .withDatabaseName("calendar_bench")
+                .withUsername("bench")
+                .withPassword("bench");
+        mysql.start();
+
+        context = new SpringApplicationBuilder(CalendarApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + mysql.getJdbcUrl(),
+                        "spring.datasource.username=" + mysql.getUsername(),
+                        "spring.datasource.password=" + mysql.getPassword(),
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "logging.level.root=WARN")
+                .run();
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        User organizer = userRepository.save(newUser(0));
+        List<String> emails = new ArrayList<>(participants);
+        for (int i = 1; i <= participants; i++) {
+            User participant = userRepository.save(newUser(i));
+            List<Event> calendar = BenchmarkFixtures.calendar(participant, eventsPerParticipant);
+            calendar.forEach(event -> event.setId(null));
+            eventRepository.saveAll(calendar);
+            emails.add(participant.getEmail());
+        }
+
+        AvailabilityRequestDTO request = new AvailabilityRequestDTO();
+        request.setParticipantEmails(emails);
+        request.setStartRange(BenchmarkFixtures.WINDOW_START);
+        request.setEndRange(BenchmarkFixtures.WINDOW_START.plus(Duration.ofDays(5)));
+        request.setDurationMinutes(30);
+        body = context.getBean(ObjectMapper.class).writeValueAsString(request);
+
+        token = context.getBean(JwtUtil.class).generateToken(organizer.getId(), organizer.getEmail());
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        endpoint = URI.create("http://localhost:" + port + "/api/v1/availability");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        for (int i = 0; i < PRIMING_REQUESTS; i++) {
+            int status = client.send(request(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("Availability request failed with status " + status);
+            }
+        }
+    }
+
+    /**
+     * Requests answered with 200 and with any other status, per iteration
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long succeeded;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            failed = 0;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    @Benchmark
+    public int handleBurst(Outcomes outcomes) {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(client.sendAsync(request(), HttpResponse.BodyHandlers.discarding()));
+        }
+        int completed = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                completed++;
+            }
+        }
+        outcomes.succeeded += completed;
+        outcomes.failed += concurrentRequests - completed;
+        return completed;
+    }
+
+    private HttpRequest request() {
+        int address = clientAddress++;
+        return HttpRequest.newBuilder(endpoint)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", "10." + (address >> 16 & 0xFF) + "." + (address >> 8 & 0xFF) + "." + (address & 0xFF))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Working hours in UTC for everyone, so the search window always has common free time
+    private static User newUser(int index) {
+        User user = BenchmarkFixtures.user(index);
+        user.setId(null);
+        user.setTimezone("UTC");
+        return user;
+    }
+}
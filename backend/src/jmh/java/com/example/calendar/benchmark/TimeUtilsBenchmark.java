@@ -0,0 +1,67 @@
+package com.example.calendar.benchmark;
+
+import com.example.calendar.shared.TimeUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timezone conversions and validation used on every localized response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeUtilsBenchmark {
+
+    @Param({"UTC", "America/New_York", "Asia/Kolkata"})
+    public String timezone;
+
+    private Instant instant;
+    private LocalDate date;
+    private LocalDateTime localDateTime;
+    private String iso8601;
+
+    @Setup
+    public void setUp() {
+        instant = Instant.parse("2030-03-10T06:30:00Z");
+        date = LocalDate.of(2030, 3, 10);
+        localDateTime = LocalDateTime.of(2030, 3, 10, 9, 30);
+        iso8601 = TimeUtils.formatIso8601(instant, timezone);
+    }
+
+    @Benchmark
+    public boolean isValidTimezone() {
+        return TimeUtils.isValidTimezone(timezone);
+    }
+
+    @Benchmark
+    public String formatIso8601() {
+        return TimeUtils.formatIso8601(instant, timezone);
+    }
+
+    @Benchmark
+    public Instant parseIso8601() {
+        return TimeUtils.parseIso8601(iso8601);
+    }
+
+    @Benchmark
+    public Instant toUtcInstant() {
+        return TimeUtils.toUtcInstant(localDateTime, timezone);
+    }
+
+    @Benchmark
+    public Instant[] getWeekBoundaries() {
+        return TimeUtils.getWeekBoundaries(date, timezone);
+    }
+
+    @Benchmark
+    public boolean isDstTransition() {
+        return TimeUtils.isDstTransition(instant, timezone);
+    }
+}
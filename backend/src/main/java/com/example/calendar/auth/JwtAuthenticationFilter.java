@@ -13,11 +13,19 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * The one endpoint that also accepts a token in the URL (?ticket=...), since
+     * EventSource cannot set headers. Only stream-scoped tokens are taken there.
+     */
+    static final String STREAM_PATH = "/api/v1/notifications/stream";
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -33,10 +41,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String userId = null;
         String jwt = null;
 
+        // Session tokens only come from the header; stream tickets only from the stream URL
+        String requiredScope = null;
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
+        } else if (request.getParameter("ticket") != null
+                && request.getRequestURI().equals(request.getContextPath() + STREAM_PATH)) {
+            jwt = request.getParameter("ticket");
+            requiredScope = JwtUtil.STREAM_SCOPE;
+        }
+
+        if (jwt != null) {
             try {
-                userId = jwtUtil.extractUserId(jwt);
+                if (Objects.equals(jwtUtil.extractScope(jwt), requiredScope)) {
+                    userId = jwtUtil.extractUserId(jwt);
+                }
             } catch (Exception e) {
                 // Invalid token format or signature
                 logger.debug("Invalid JWT token: " + e.getMessage());
@@ -49,7 +68,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 
                 if (jwtUtil.validateToken(jwt, userUuid)) {
                     // Load user from database
-                    userRepository.findById(userUuid).ifPresent(user -> {
+                    Optional<User> found = userRepository.findById(userUuid);
+                    if (found.isEmpty()) {
+                        // A user who just signed up may not have reached the read replica yet
+                        found = userRepository.findByIdOnPrimary(userUuid);
+                    }
+                    found.ifPresent(user -> {
                         UsernamePasswordAuthenticationToken authenticationToken =
                                 new UsernamePasswordAuthenticationToken(user, null, new ArrayList<>());
                         authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
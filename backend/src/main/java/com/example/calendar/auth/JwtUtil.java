@@ -16,12 +16,22 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
+    /**
+     * Scope of tokens that only open the notification stream
+     */
+    public static final String STREAM_SCOPE = "notifications-stream";
+
+    private static final String SCOPE_CLAIM = "scope";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 24 hours default
     private Long expiration;
 
+    @Value("${jwt.stream-ticket-expiration:60000}") // 1 minute default
+    private Long streamTicketExpiration;
+
     private SecretKey getSigningKey() {
         return Keys.hmacShaKeyFor(secret.getBytes());
     }
@@ -30,6 +40,13 @@ public class JwtUtil {
         return extractClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Scope claim of a token, or null for a regular session token
+     */
+    public String extractScope(String token) {
+        return extractClaim(token, claims -> claims.get(SCOPE_CLAIM, String.class));
+    }
+
     public Date extractExpiration(String token) {
         return extractClaim(token, Claims::getExpiration);
     }
@@ -54,12 +71,27 @@ public class JwtUtil {
     public String generateToken(UUID userId, String email) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("email", email);
-        return createToken(claims, userId.toString());
+        return createToken(claims, userId.toString(), expiration);
+    }
+
+    /**
+     * Short-lived token that only opens the notification stream. Browsers'
+     * EventSource cannot send an Authorization header, so it travels in the URL.
+     */
+    public String generateStreamTicket(UUID userId, String email) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("email", email);
+        claims.put(SCOPE_CLAIM, STREAM_SCOPE);
+        return createToken(claims, userId.toString(), streamTicketExpiration);
+    }
+
+    public long getStreamTicketExpiration() {
+        return streamTicketExpiration;
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long validityMillis) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration);
+        Date expiryDate = new Date(now.getTime() + validityMillis);
 
         return Jwts.builder()
                 .claims(claims)
@@ -1,5 +1,6 @@
 package com.example.calendar.auth;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,6 +35,8 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume requests that were already authorized (SSE streams)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/",
                                 "/error",
@@ -68,9 +71,11 @@ public class SecurityConfig {
         "Accept",
         "Origin",
         "X-User-Timezone",
-        "x-user-timezone"
+        "x-user-timezone",
+        "X-Availability-Trace",
+        "If-None-Match"
     ));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Next-Cursor", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -1,15 +1,29 @@
 package com.example.calendar.auth;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * Registered user. Cached in the second-level cache by id ("users" region)
+ * and by email, its immutable natural id ("users-by-email" region).
+ * Emails are stored lowercased so natural-id lookups match however the
+ * address was typed.
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @Table(name = "users", indexes = {
     @Index(name = "idx_email", columnList = "email"),
-    @Index(name = "idx_google_sub", columnList = "google_sub")
+    @Index(name = "idx_google_sub", columnList = "google_sub"),
+    @Index(name = "idx_updated_at", columnList = "updated_at")
 })
 public class User {
 
@@ -22,6 +36,7 @@ public class User {
     @Column(name = "google_sub", nullable = false, unique = true)
     private String googleSub;
 
+    @NaturalId
     @Column(name = "email", nullable = false, unique = true, length = 320)
     private String email;
 
@@ -70,7 +85,7 @@ public class User {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        this.email = email != null ? email.toLowerCase() : null;
     }
 
     public String getDisplayName() {
@@ -0,0 +1,17 @@
+package com.example.calendar.auth;
+
+import java.util.Optional;
+
+/**
+ * Lookups of users by their natural id (email), served from the
+ * second-level cache when possible
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Find a user by email, ignoring case; repeated lookups skip the database entirely
+     * @param email The user's email, in any case
+     * @return The user, if registered
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,27 @@
+package com.example.calendar.auth;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Natural-id lookups through the Hibernate session: the email resolves to
+ * the id via the "users-by-email" region and the entity via "users", so a
+ * cached user costs no query (a derived findByEmail query always would)
+ */
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email.toLowerCase());
+    }
+}
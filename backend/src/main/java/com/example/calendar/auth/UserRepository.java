@@ -1,36 +1,71 @@
 package com.example.calendar.auth;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdRepository {
+    
+    /**
+     * The fields of a user needed for people search
+     */
+    interface DirectoryEntry {
+        UUID getId();
+        String getEmail();
+        String getDisplayName();
+        String getTimezone();
+        Instant getUpdatedAt();
+    }
+    
+    /**
+     * Saving a user drops all cached collaborator suggestions, which show the
+     * display name and timezone of registered collaborators
+     */
+    @Override
+    @CacheEvict(value = "collaborators", allEntries = true)
+    <S extends User> S save(S user);
+    
+    /**
+     * Load a user in a read-write transaction, which always runs on the primary
+     * database: for a user who may not have reached the read replica yet
+     */
+    @Transactional
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdOnPrimary(@Param("id") UUID id);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByGoogleSub(String googleSub);
-    Optional<User> findByEmail(String email);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<User> findByEmailIn(Collection<String> emails);
+    
     boolean existsByEmail(String email);
     
     /**
-     * Find frequently collaborated users for the given user
-     * Returns users who have been invited to events by this user, sorted by collaboration frequency
+     * Users created or updated at or after an instant, without loading entities
+     */
+    @Query("SELECT u.id AS id, u.email AS email, u.displayName AS displayName, u.timezone AS timezone, " +
+           "u.updatedAt AS updatedAt FROM User u WHERE u.updatedAt >= :since ORDER BY u.updatedAt ASC")
+    List<DirectoryEntry> findDirectoryChangedSince(@Param("since") Instant since);
+    
+    /**
+     * Users whose email or display name starts with the prefix (LIKE wildcards escaped by the caller)
      */
-    @Query(value = """
-        SELECT u.email, u.display_name, u.timezone, COUNT(i.id) as collaboration_count
-        FROM users u
-        INNER JOIN invitations i ON u.email = i.recipient_email
-        INNER JOIN events e ON i.event_id = e.id
-        WHERE e.organizer_id = :userId AND u.id != :userId
-        GROUP BY u.id, u.email, u.display_name, u.timezone
-        ORDER BY collaboration_count DESC
-        LIMIT :limit
-        """, nativeQuery = true)
-    List<Object[]> findFrequentCollaborators(
-        @Param("userId") UUID userId,
-        @Param("limit") int limit
-    );
+    @Query("SELECT u FROM User u WHERE u.email LIKE CONCAT(:prefix, '%') " +
+           "OR u.displayName LIKE CONCAT(:prefix, '%') ORDER BY u.displayName ASC")
+    List<User> searchByPrefix(@Param("prefix") String prefix, Pageable pageable);
 }
@@ -0,0 +1,339 @@
+package com.example.calendar.availability;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.auth.UserRepository;
+import com.example.calendar.invitations.CollaboratorCountRepository;
+import com.example.calendar.shared.ChangeVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Type-ahead search over people to invite: the organizer's past collaborators
+ * first (most invited first), then any other registered user.
+ *
+ * Both sources are served from in-memory prefix indexes over emails and
+ * display names. The user directory is loaded once and then refreshed from
+ * users updated since the last refresh; those are kept in a small overlay
+ * that supersedes the base index until it is large enough to be folded back
+ * in. Collaborator indexes are built per organizer on first search and
+ * rebuilt when the organizer's change version moves on (every new event does
+ * that). Above the configured number of users the directory is not kept and
+ * the rest of each search goes to the database instead.
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 25;
+    static final int MAX_COLLABORATORS_PER_ORGANIZER = 2000;
+    private static final int MAX_OVERLAY = 1000;
+    // Re-read users updated this close to the watermark in case their transaction committed late
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+    private static final Comparator<Person> BY_NAME = Comparator
+        .comparing((Person p) -> p.displayName != null ? p.displayName.toLowerCase() : p.key)
+        .thenComparing(p -> p.key);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CollaboratorCountRepository collaboratorCountRepository;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Value("${app.autocomplete.max-users:50000}")
+    private int maxUsers = 50000;
+
+    @Value("${app.autocomplete.max-organizers:5000}")
+    private int maxOrganizers = 5000;
+
+    // Null until the first refresh, or while there are too many users to keep
+    private volatile Directory directory;
+
+    private final Map<UUID, Collaborators> organizers = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Collaborators> eldest) {
+                return size() > maxOrganizers;
+            }
+        });
+
+    /**
+     * A person that can be suggested; count is 0 for non-collaborators
+     */
+    static final class Person {
+        final UUID id;
+        final String email;
+        final String key;
+        final String displayName;
+        final String timezone;
+        final int count;
+
+        Person(UUID id, String email, String displayName, String timezone, int count) {
+            this.id = id;
+            this.email = email;
+            this.key = email.toLowerCase();
+            this.displayName = displayName;
+            this.timezone = timezone;
+            this.count = count;
+        }
+
+        List<String> keys() {
+            return PrefixIndex.personKeys(email, displayName);
+        }
+
+        boolean matches(String prefix) {
+            for (String key : keys()) {
+                if (key != null && PrefixIndex.normalize(key).startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        CollaboratorDTO toDto() {
+            return new CollaboratorDTO(email, displayName, timezone, count);
+        }
+    }
+
+    /**
+     * All users: a base index plus the users changed since it was built, by id
+     */
+    private static final class Directory {
+        private final PrefixIndex<Person> base;
+        private final Map<UUID, Person> overlay = new ConcurrentHashMap<>();
+        private volatile Instant watermark;
+
+        private Directory(PrefixIndex<Person> base, Instant watermark) {
+            this.base = base;
+            this.watermark = watermark;
+        }
+
+        private int size() {
+            return base.items().size() + overlay.size();
+        }
+    }
+
+    /**
+     * One organizer's collaborators, tagged with the change version they were loaded under
+     */
+    private static final class Collaborators {
+        private final String version;
+        private final PrefixIndex<Person> index;
+
+        private Collaborators(String version, PrefixIndex<Person> index) {
+            this.version = version;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Find people whose email, display name or any later word of the display
+     * name starts with the query
+     *
+     * @param user The organizer searching; never suggested themselves
+     * @param query Prefix typed so far (case-insensitive)
+     * @param limit Maximum number of results (capped at MAX_LIMIT)
+     * @return Collaborators by invitation count, then other users by name
+     */
+    public List<CollaboratorDTO> search(User user, String query, int limit) {
+        String prefix = PrefixIndex.normalize(query);
+        int max = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        String self = user.getEmail().toLowerCase();
+
+        Set<String> included = new HashSet<>();
+        included.add(self);
+        List<CollaboratorDTO> result = new ArrayList<>(max);
+
+        List<Person> collaborators = collaboratorsOf(user).search(prefix, p -> !self.equals(p.key), MAX_COLLABORATORS_PER_ORGANIZER);
+        collaborators.sort(Comparator.comparingInt((Person p) -> p.count).reversed());
+        for (Person person : collaborators) {
+            if (result.size() == max) {
+                break;
+            }
+            included.add(person.key);
+            result.add(person.toDto());
+        }
+
+        int remaining = max - result.size();
+        if (remaining > 0) {
+            Directory current = directory;
+            List<Person> others = current != null
+                ? searchDirectory(current, prefix, included, remaining)
+                : searchDatabase(prefix, included, remaining);
+            for (Person person : others) {
+                result.add(person.toDto());
+            }
+        }
+
+        logger.debug("People search for '{}' by user {} returned {} results", prefix, user.getId(), result.size());
+        return result;
+    }
+
+    /**
+     * Load the user directory, or bring it up to date with recently updated users
+     */
+    @Scheduled(fixedDelayString = "${app.autocomplete.refresh-ms:10000}")
+    public void refreshDirectory() {
+        try {
+            Directory current = directory;
+            if (current == null) {
+                rebuildDirectory();
+                return;
+            }
+            List<UserRepository.DirectoryEntry> changed = userRepository.findDirectoryChangedSince(current.watermark);
+            for (UserRepository.DirectoryEntry row : changed) {
+                current.overlay.put(row.getId(), toPerson(row));
+            }
+            current.watermark = nextWatermark(current.watermark, changed);
+
+            if (current.size() > maxUsers) {
+                logger.info("More than {} users; people search falls back to the database", maxUsers);
+                directory = null;
+            } else if (current.overlay.size() > MAX_OVERLAY) {
+                directory = merge(current);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh the people search directory: {}", e.getMessage());
+        }
+    }
+
+    private void rebuildDirectory() {
+        if (userRepository.count() > maxUsers) {
+            return;
+        }
+        List<UserRepository.DirectoryEntry> rows = userRepository.findDirectoryChangedSince(Instant.EPOCH);
+        List<Person> people = new ArrayList<>(rows.size());
+        for (UserRepository.DirectoryEntry row : rows) {
+            people.add(toPerson(row));
+        }
+        directory = new Directory(PrefixIndex.build(people, Person::keys), nextWatermark(Instant.EPOCH, rows));
+        logger.info("Loaded people search directory with {} users", people.size());
+    }
+
+    /**
+     * Fold the overlay into a new base index
+     */
+    private static Directory merge(Directory current) {
+        Map<UUID, Person> overlay = Map.copyOf(current.overlay);
+        List<Person> people = new ArrayList<>(current.base.items().size() + overlay.size());
+        for (Person person : current.base.items()) {
+            if (!overlay.containsKey(person.id)) {
+                people.add(person);
+            }
+        }
+        people.addAll(overlay.values());
+        Directory merged = new Directory(PrefixIndex.build(people, Person::keys), current.watermark);
+        // Keep anything the refresh thread may have added while we were building
+        for (Map.Entry<UUID, Person> entry : current.overlay.entrySet()) {
+            if (overlay.get(entry.getKey()) != entry.getValue()) {
+                merged.overlay.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return merged;
+    }
+
+    private static Instant nextWatermark(Instant previous, List<UserRepository.DirectoryEntry> rows) {
+        Instant latest = previous;
+        for (UserRepository.DirectoryEntry row : rows) {
+            if (row.getUpdatedAt() != null && row.getUpdatedAt().isAfter(latest)) {
+                latest = row.getUpdatedAt();
+            }
+        }
+        Instant floor = latest.minus(REFRESH_OVERLAP);
+        return floor.isAfter(previous) ? floor : previous;
+    }
+
+    private static List<Person> searchDirectory(Directory current, String prefix, Set<String> excluded, int max) {
+        // Keep the first max matches by name; the index returns them in key order
+        PriorityQueue<Person> first = new PriorityQueue<>(max + 1, BY_NAME.reversed());
+        for (Person person : current.overlay.values()) {
+            if (!excluded.contains(person.key) && person.matches(prefix)) {
+                keepFirst(first, person, max);
+            }
+        }
+        for (Person person : current.base.search(prefix,
+                p -> !excluded.contains(p.key) && !current.overlay.containsKey(p.id), Integer.MAX_VALUE)) {
+            keepFirst(first, person, max);
+        }
+        List<Person> found = new ArrayList<>(first);
+        found.sort(BY_NAME);
+        return found;
+    }
+
+    private static void keepFirst(PriorityQueue<Person> first, Person person, int max) {
+        if (first.size() < max) {
+            first.add(person);
+        } else if (BY_NAME.compare(person, first.peek()) < 0) {
+            first.poll();
+            first.add(person);
+        }
+    }
+
+    /**
+     * Whether searches are answered from memory; otherwise other users are looked up in the database
+     */
+    public boolean isDirectoryLoaded() {
+        return directory != null;
+    }
+
+    private List<Person> searchDatabase(String prefix, Set<String> excluded, int max) {
+        List<Person> found = new ArrayList<>(max);
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        for (User user : userRepository.searchByPrefix(escaped, PageRequest.of(0, max + excluded.size()))) {
+            if (found.size() == max) {
+                break;
+            }
+            if (!excluded.contains(user.getEmail().toLowerCase())) {
+                found.add(new Person(user.getId(), user.getEmail(), user.getDisplayName(), user.getTimezone(), 0));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The organizer's collaborator index, rebuilt if their change version moved on
+     */
+    private PrefixIndex<Person> collaboratorsOf(User user) {
+        String version = changeVersionService.currentVersion(user.getEmail().toLowerCase());
+        Collaborators cached = organizers.get(user.getId());
+        if (cached != null && cached.version.equals(version)) {
+            return cached.index;
+        }
+        List<Person> people = new ArrayList<>();
+        for (CollaboratorCountRepository.TopCollaborator row : collaboratorCountRepository.findAllCollaborators(
+                user.getId(), PageRequest.of(0, MAX_COLLABORATORS_PER_ORGANIZER))) {
+            people.add(new Person(null, row.getEmail(), row.getDisplayName(), row.getTimezone(),
+                row.getCount() != null ? row.getCount() : 0));
+        }
+        PrefixIndex<Person> index = PrefixIndex.build(people, Person::keys);
+        organizers.put(user.getId(), new Collaborators(version, index));
+        return index;
+    }
+
+    private static Person toPerson(UserRepository.DirectoryEntry row) {
+        return new Person(row.getId(), row.getEmail(), row.getDisplayName(), row.getTimezone(), 0);
+    }
+}
@@ -1,14 +1,23 @@
 package com.example.calendar.availability;
 
 import com.example.calendar.auth.User;
+import com.example.calendar.config.RateLimitConfig.RateLimitInterceptor;
+import com.example.calendar.shared.StreamAbortedException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -20,9 +29,23 @@ public class AvailabilityController {
     
     private static final Logger logger = LoggerFactory.getLogger(AvailabilityController.class);
     
+    private static final int FREE_BUSY_FLUSH_INTERVAL = 100;
+    
+    // Free/busy emails covered by one rate limit token
+    private static final int FREE_BUSY_EMAILS_PER_TOKEN = 50;
+    
     @Autowired
     private AvailabilityService availabilityService;
     
+    @Autowired
+    private AutocompleteService autocompleteService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private RateLimitInterceptor rateLimiter;
+    
     /**
      * Check availability of recipients for a specific proposed time
      * POST /api/v1/availability/check
@@ -71,12 +94,8 @@ public class AvailabilityController {
                     checkRequest.getParticipantEmails()
                 );
             
-            // Debug logging for response
             CheckAvailabilityResponse response = new CheckAvailabilityResponse(availabilityList);
-            logger.info("🔄 API Response: {}", response);
-            for (AvailabilityDTO dto : availabilityList) {
-                logger.info("🔄 DTO - Email: {}, Available: {}", dto.getParticipantEmail(), dto.isAvailable());
-            }
+            logger.debug("Availability check response: {}", response);
             
             return ResponseEntity.ok(response);
             
@@ -96,7 +115,7 @@ public class AvailabilityController {
             new AvailabilityDTO("test@example.com", "Test User", true, List.of(), List.of())
         );
         CheckAvailabilityResponse response = new CheckAvailabilityResponse(testList);
-        logger.info("🔧 Debug endpoint - returning: {}", response);
+        logger.debug("Debug endpoint - returning: {}", response);
         return ResponseEntity.ok(response);
     }
 
@@ -133,6 +152,153 @@ public class AvailabilityController {
         }
     }
     
+    /**
+     * Rank meeting slots even when no slot is free for everyone
+     * POST /api/v1/availability/optimize
+     * 
+     * Request body as for POST /api/v1/availability, plus optional
+     * "optionalParticipantEmails" and "maxResults" (default 5, max 20).
+     * "participantEmails" are the required attendees.
+     * 
+     * @param request Request containing attendees, date range, and duration
+     * @param user Authenticated user
+     * @return Ranked slots, best first; empty only when no slot fits the range
+     */
+    @PostMapping("/optimize")
+    public ResponseEntity<?> findOptimalSlots(
+            @RequestBody AvailabilityRequestDTO request,
+            @AuthenticationPrincipal User user) {
+        
+        try {
+            List<RankedSlotDTO> ranked = availabilityService.findOptimalSlots(request, user);
+            return ResponseEntity.ok(new AvailabilityResponseDTO(List.copyOf(ranked)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Busy time of many users at once, e.g. for room and resource planners
+     * POST /api/v1/availability/freebusy
+     * 
+     * Request body:
+     * {
+     *   "emails": ["alice@example.com", "bob@example.com"],
+     *   "start": "2025-10-20T00:00:00Z",
+     *   "end": "2025-10-27T00:00:00Z"
+     * }
+     * 
+     * The response is written as it is computed, in columnar form: for each
+     * email, coalesced busy intervals clipped to the window as parallel arrays
+     * of start and end offsets in seconds from "start" (rounded outwards).
+     * {
+     *   "start": "2025-10-20T00:00:00Z",
+     *   "end": "2025-10-27T00:00:00Z",
+     *   "users": [
+     *     {"email": "alice@example.com", "found": true, "starts": [32400, 118800], "ends": [36000, 122400]},
+     *     {"email": "nobody@example.com", "found": false}
+     *   ]
+     * }
+     * 
+     * At most app.freebusy.max-batch-emails emails and a 92-day window per request.
+     * Each started block of 50 emails costs one request of the rate limit.
+     * If a lookup fails mid-stream the connection is aborted rather than the
+     * JSON completed, so clients never mistake a partial answer for a full one.
+     */
+    @PostMapping("/freebusy")
+    public void getFreeBusy(
+            @RequestBody FreeBusyRequestDTO request,
+            @AuthenticationPrincipal User user,
+            HttpServletRequest httpRequest,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        if (user == null) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("User not authenticated"));
+            return;
+        }
+        try {
+            availabilityService.validateFreeBusyRequest(request);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(e.getMessage()));
+            return;
+        }
+        
+        // The interceptor already charged one token for the call itself
+        int tokens = (request.getEmails().size() + FREE_BUSY_EMAILS_PER_TOKEN - 1) / FREE_BUSY_EMAILS_PER_TOKEN;
+        if (tokens > 1 && !rateLimiter.tryConsume(httpRequest, response, tokens - 1)) {
+            objectMapper.writeValue(response.getOutputStream(),
+                    new ErrorResponse("Rate limit exceeded. Please try again later."));
+            return;
+        }
+        
+        long windowStart = request.getStart().toEpochMilli();
+        long windowEnd = request.getEnd().toEpochMilli();
+        // Not try-with-resources: closing on failure would complete the JSON, or with
+        // that disabled still end the response cleanly, and hide the truncation
+        JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try {
+            json.writeStartObject();
+            json.writeStringField("start", request.getStart().toString());
+            json.writeStringField("end", request.getEnd().toString());
+            json.writeArrayFieldStart("users");
+            int[] written = {0};
+            availabilityService.streamFreeBusy(request, (email, busy) -> {
+                try {
+                    writeFreeBusy(json, email, busy, windowStart, windowEnd);
+                    if (++written[0] % FREE_BUSY_FLUSH_INTERVAL == 0) {
+                        json.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException | RuntimeException e) {
+            // Before the first flush the error handler can still send a proper error
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+                throw e;
+            }
+            throw new StreamAbortedException(e);
+        }
+        json.close();
+    }
+    
+    /**
+     * Write one user's entry of the free/busy response
+     */
+    private static void writeFreeBusy(JsonGenerator json, String email, BusyIntervals busy,
+                                      long windowStart, long windowEnd) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("email", email);
+        json.writeBooleanField("found", busy != null);
+        if (busy != null) {
+            int from = busy.firstEndingAfter(windowStart);
+            int to = from;
+            while (to < busy.size() && busy.starts[to] < windowEnd) {
+                to++;
+            }
+            json.writeArrayFieldStart("starts");
+            for (int i = from; i < to; i++) {
+                json.writeNumber(Math.floorDiv(Math.max(busy.starts[i], windowStart) - windowStart, 1000L));
+            }
+            json.writeEndArray();
+            json.writeArrayFieldStart("ends");
+            for (int i = from; i < to; i++) {
+                json.writeNumber(-Math.floorDiv(windowStart - Math.min(busy.ends[i], windowEnd), 1000L));
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+    
     /**
      * Response wrapper for availability suggestions
      */
@@ -234,7 +400,7 @@ public class AvailabilityController {
             }
             
             List<CollaboratorDTO> collaborators = 
-                availabilityService.getSuggestedCollaborators(user.getId(), 20);
+                availabilityService.getSuggestedCollaborators(user.getId());
             
             return ResponseEntity.ok(new CollaboratorsResponse(collaborators));
             
@@ -245,6 +411,53 @@ public class AvailabilityController {
         }
     }
     
+    /**
+     * Search people to invite by email or name prefix, past collaborators first
+     * GET /api/v1/availability/collaborators/search?q=ali&limit=10
+     * 
+     * Not rate limited while answered from the in-memory directory; each search
+     * that falls back to the database counts as one request.
+     * 
+     * @param q Prefix typed so far
+     * @param limit Maximum number of results (default 10, at most 25)
+     * @param user Authenticated user
+     * @return Matching collaborators and users
+     */
+    @GetMapping("/collaborators/search")
+    public ResponseEntity<?> searchCollaborators(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal User user,
+            HttpServletRequest httpRequest,
+            HttpServletResponse response) {
+        try {
+            if (user == null) {
+                return ResponseEntity
+                    .status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("User not authenticated"));
+            }
+            if (q == null || q.isBlank()) {
+                return ResponseEntity
+                    .badRequest()
+                    .body(new ErrorResponse("Query parameter q is required"));
+            }
+            if (!autocompleteService.isDirectoryLoaded() && !rateLimiter.tryConsume(httpRequest, response, 1)) {
+                return ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(new ErrorResponse("Rate limit exceeded. Please try again later."));
+            }
+            
+            List<CollaboratorDTO> matches = autocompleteService.search(user, q, limit);
+            
+            return ResponseEntity.ok(new CollaboratorsResponse(matches));
+            
+        } catch (Exception e) {
+            return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Error searching collaborators: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Response wrapper for collaborators list
      */
@@ -17,6 +17,7 @@ public class AvailabilityDTO {
     @JsonProperty("suggestedSlots")
     private List<AvailabilitySlotDTO> suggestedSlots;
     private boolean userFound = true;
+    private boolean evaluated = true; // false when the request deadline passed first
 
     public AvailabilityDTO() {
     }
@@ -45,6 +46,14 @@ public class AvailabilityDTO {
         this.userFound = userFound;
     }
 
+    public boolean isEvaluated() {
+        return evaluated;
+    }
+
+    public void setEvaluated(boolean evaluated) {
+        this.evaluated = evaluated;
+    }
+
     public String getParticipantEmail() {
         return participantEmail;
     }
@@ -12,6 +12,8 @@ public class AvailabilityRequestDTO {
     private Instant startRange;
     private Instant endRange;
     private Integer durationMinutes;
+    private List<String> optionalParticipantEmails; // Only used by the optimizing search
+    private Integer maxResults;
     
     public AvailabilityRequestDTO() {
     }
@@ -55,4 +57,20 @@ public class AvailabilityRequestDTO {
     public void setDurationMinutes(Integer durationMinutes) {
         this.durationMinutes = durationMinutes;
     }
+    
+    public List<String> getOptionalParticipantEmails() {
+        return optionalParticipantEmails;
+    }
+    
+    public void setOptionalParticipantEmails(List<String> optionalParticipantEmails) {
+        this.optionalParticipantEmails = optionalParticipantEmails;
+    }
+    
+    public Integer getMaxResults() {
+        return maxResults;
+    }
+    
+    public void setMaxResults(Integer maxResults) {
+        this.maxResults = maxResults;
+    }
 }
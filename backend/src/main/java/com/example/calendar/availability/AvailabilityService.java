@@ -4,22 +4,33 @@ import com.example.calendar.auth.User;
 import com.example.calendar.auth.UserRepository;
 import com.example.calendar.events.Event;
 import com.example.calendar.events.EventRepository;
-import com.example.calendar.invitations.Invitation;
-import com.example.calendar.invitations.InvitationRepository;
-import com.example.calendar.invitations.InvitationStatus;
+import com.example.calendar.invitations.CollaboratorCountRepository;
+import com.example.calendar.shared.CalendarMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.DateTimeException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -31,8 +42,11 @@ public class AvailabilityService {
     private static final int MAX_SUGGESTIONS = 5;
     private static final int PER_ATTENDEE_SUGGESTIONS = 3;
     private static final int PER_ATTENDEE_LOOKAHEAD_DAYS = 3;
-    private static final LocalTime BUSINESS_START = LocalTime.of(9, 0);  // 9 AM
-    private static final LocalTime BUSINESS_END = LocalTime.of(17, 0);   // 5 PM
+    private static final int MAX_OPTIMIZED_RESULTS = 20;
+    private static final int MAX_OPTIMIZED_RANGE_DAYS = 31;
+    private static final Duration SLOT_STEP = Duration.ofMinutes(30);
+    private static final int FREE_BUSY_BATCH_SIZE = 200;
+    private static final int MAX_COLLABORATORS = 20;
     private static final Logger logger = LoggerFactory.getLogger(AvailabilityService.class);
     
     @Autowired
@@ -42,9 +56,82 @@ public class AvailabilityService {
     private UserRepository userRepository;
     
     @Autowired
-    private InvitationRepository invitationRepository;
-    
-    
+    private CalendarMetrics calendarMetrics;
+
+    @Autowired
+    private WorkingHoursService workingHoursService;
+
+    @Autowired
+    private FreeBusyStore freeBusyStore;
+
+    @Autowired
+    private CollaboratorCountRepository collaboratorCountRepository;
+
+    @Value("${app.availability.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    @Value("${app.availability.parallel.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${app.availability.deadline-ms:3000}")
+    private long deadlineMs;
+
+    @Value("${app.freebusy.max-batch-emails:1000}")
+    private int maxFreeBusyEmails = 1000;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // Null when parallel evaluation is disabled; participants are then checked in turn
+    private ExecutorService participantExecutor;
+    private Semaphore participantPermits;
+
+    /**
+     * Create the executor for concurrent participant evaluation.
+     * With virtual threads each participant gets its own thread and the permits
+     * bound how many run at once; otherwise a fixed pool of that size is used.
+     */
+    @PostConstruct
+    void startParticipantExecutor() {
+        if (!parallelEnabled || maxConcurrency < 2) {
+            return;
+        }
+        participantPermits = new Semaphore(maxConcurrency);
+        ExecutorService virtualExecutor = virtualThreads ? newVirtualThreadExecutor() : null;
+        if (virtualExecutor != null) {
+            participantExecutor = virtualExecutor;
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            participantExecutor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+                Thread thread = new Thread(runnable, "availability-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        logger.info("Parallel availability evaluation: maxConcurrency={} deadlineMs={} virtualThreads={}",
+            maxConcurrency, deadlineMs, virtualExecutor != null);
+    }
+
+    @PreDestroy
+    void stopParticipantExecutor() {
+        if (participantExecutor != null) {
+            participantExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() when running on Java 21+.
+     * Looked up reflectively so the service still builds for Java 17.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Virtual threads are not available on this JVM; using a platform thread pool");
+            return null;
+        }
+    }
+
     /**
      * Check availability of multiple participants for a proposed meeting time
      *
@@ -62,87 +149,175 @@ public class AvailabilityService {
             return new ArrayList<>();
         }
 
-        logger.info("🔍 Checking availability for {} participants: {}", participantEmails.size(), participantEmails);
-        logger.info("  Proposed time window: {} to {}", startDateTime, endDateTime);
+        long startNanos = calendarMetrics.tick();
+        boolean trace = AvailabilityTrace.isActive();
+        if (trace) {
+            logger.info("availability.trace check participants={} start={} end={}",
+                participantEmails.size(), startDateTime, endDateTime);
+        }
 
-        List<AvailabilityDTO> results = new ArrayList<>();
+        List<AvailabilityDTO> results;
+        if (participantExecutor != null && participantEmails.size() > 1) {
+            results = checkParticipantsConcurrently(startDateTime, endDateTime, participantEmails, trace);
+        } else {
+            results = new ArrayList<>(participantEmails.size());
+            for (String email : participantEmails) {
+                results.add(checkParticipantAvailability(email, startDateTime, endDateTime, trace));
+            }
+        }
 
-        for (String email : participantEmails) {
-            AvailabilityDTO availability = checkParticipantAvailability(email, startDateTime, endDateTime);
-            results.add(availability);
+        int available = 0;
+        int unevaluated = 0;
+        for (AvailabilityDTO availability : results) {
+            if (availability.isAvailable()) {
+                available++;
+            }
+            if (!availability.isEvaluated()) {
+                unevaluated++;
+            }
         }
 
-        logger.info("✅ Availability check complete: {} available, {} unavailable", 
-            results.stream().filter(AvailabilityDTO::isAvailable).count(),
-            results.stream().filter(a -> !a.isAvailable()).count());
+        logger.info("Availability check: participants={} available={} unavailable={} unevaluated={}",
+            results.size(), available, results.size() - available, unevaluated);
+
+        calendarMetrics.recordAvailabilityCheck(participantEmails.size(), startNanos);
+        return results;
+    }
+
+    /**
+     * Evaluate participants on the participant executor and wait for them until
+     * the request deadline. Results keep the order of the input; anyone still
+     * pending (or still waiting for a permit) at the deadline is cancelled and
+     * returned as not evaluated, so latency tracks the slowest participant
+     * rather than the sum of all of them, capped by the deadline.
+     */
+    private List<AvailabilityDTO> checkParticipantsConcurrently(
+            Instant startDateTime,
+            Instant endDateTime,
+            List<String> participantEmails,
+            boolean trace) {
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        List<Future<AvailabilityDTO>> futures = new ArrayList<>(participantEmails.size());
+        for (String email : participantEmails) {
+            futures.add(participantExecutor.submit(
+                () -> checkParticipantWithPermit(email, startDateTime, endDateTime, trace, deadlineNanos)));
+        }
 
+        List<AvailabilityDTO> results = new ArrayList<>(participantEmails.size());
+        for (int i = 0; i < futures.size(); i++) {
+            String email = participantEmails.get(i);
+            Future<AvailabilityDTO> future = futures.get(i);
+            try {
+                long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+                results.add(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException | CancellationException e) {
+                future.cancel(true);
+                results.add(unevaluated(email));
+            } catch (ExecutionException e) {
+                logger.error("Error checking availability for {}: {}", email, e.getCause().getMessage(), e.getCause());
+                results.add(unevaluated(email));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.subList(i, futures.size()).forEach(pending -> pending.cancel(true));
+                for (String pendingEmail : participantEmails.subList(i, participantEmails.size())) {
+                    results.add(unevaluated(pendingEmail));
+                }
+                break;
+            }
+        }
         return results;
     }
 
+    /**
+     * Run one participant check on a worker thread once a permit is free.
+     * The request's trace flag is carried over since it is thread-local.
+     */
+    private AvailabilityDTO checkParticipantWithPermit(
+            String email,
+            Instant startDateTime,
+            Instant endDateTime,
+            boolean trace,
+            long deadlineNanos) throws InterruptedException {
+
+        if (!participantPermits.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            return unevaluated(email);
+        }
+        if (trace) {
+            AvailabilityTrace.start();
+        }
+        try {
+            return checkParticipantAvailability(email, startDateTime, endDateTime, trace);
+        } finally {
+            if (trace) {
+                AvailabilityTrace.stop();
+            }
+            participantPermits.release();
+        }
+    }
+
+    /**
+     * Result for a participant whose check did not finish before the deadline
+     */
+    private AvailabilityDTO unevaluated(String email) {
+        AvailabilityDTO result = new AvailabilityDTO(email, email, false, new ArrayList<>(), new ArrayList<>());
+        result.setEvaluated(false);
+        return result;
+    }
+
     /**
      * Check availability of a single participant
      *
      * @param email Participant email address
      * @param startDateTime Start time of proposed meeting (UTC)
      * @param endDateTime End time of proposed meeting (UTC)
+     * @param trace Whether to log per-event diagnostics
      * @return AvailabilityDTO with availability status and any conflicts
      */
     private AvailabilityDTO checkParticipantAvailability(
             String email,
             Instant startDateTime,
-            Instant endDateTime) {
+            Instant endDateTime,
+            boolean trace) {
 
         try {
-            logger.info("🔍 Checking availability for: {}", email);
-            
             // Find the user by email
             Optional<User> userOptional = userRepository.findByEmail(email);
 
             if (userOptional.isEmpty()) {
                 // User doesn't exist in system - cannot verify availability
-                logger.warn("⚠️  User with email {} not found in system", email);
+                if (trace) {
+                    logger.info("availability.trace participant={} found=false", email);
+                }
                 AvailabilityDTO missingUser = new AvailabilityDTO(email, email, false, new ArrayList<>(), new ArrayList<>());
                 missingUser.setUserFound(false);
                 return missingUser;
             }
 
             User user = userOptional.get();
-            logger.info("   Found user: {}", user.getDisplayName());
-
-            // Get all busy time slots for this user (both organized events and accepted invitations)
-            List<Event> allBusyEvents = getAllBusyEventsForUser(user, startDateTime, endDateTime);
-            logger.info("   📋 Found {} total busy events for analysis in window: {} to {}", allBusyEvents.size(), startDateTime, endDateTime);
 
-            if (allBusyEvents.size() > 0) {
-                logger.info("   🔍 Analyzing each event for conflicts with proposed time:");
-            }
-
-            // Filter events that actually conflict with the proposed meeting
-            List<Event> conflictingEvents = allBusyEvents.stream()
-                    .filter(event -> {
-                        boolean hasConflict = hasTimeConflict(event, startDateTime, endDateTime);
-                        if (hasConflict) {
-                            logger.info("     ❌ CONFLICT DETECTED: '{}' ({} to {}) overlaps with proposed ({} to {})", 
-                                event.getTitle(), event.getStartDateTime(), event.getEndDateTime(), startDateTime, endDateTime);
-                        } else {
-                            logger.info("     ✅ NO CONFLICT: '{}' ({} to {}) does not overlap with proposed ({} to {})", 
-                                event.getTitle(), event.getStartDateTime(), event.getEndDateTime(), startDateTime, endDateTime);
+            // Check the user's pre-merged busy time first; most participants are simply free
+            BusyIntervals busy = getBusyIntervals(user, startDateTime, endDateTime);
+
+            // Only load the events themselves to report which ones conflict
+            List<Event> conflictingEvents = new ArrayList<>();
+            if (busy.overlaps(startDateTime, endDateTime)) {
+                for (Event event : getAllBusyEventsForUser(user, startDateTime, endDateTime)) {
+                    if (hasTimeConflict(event, startDateTime, endDateTime)) {
+                        conflictingEvents.add(event);
+                        if (trace) {
+                            logger.info("availability.trace participant={} conflict event={} start={} end={}",
+                                email, event.getId(), event.getStartDateTime(), event.getEndDateTime());
                         }
-                        return hasConflict;
-                    })
-                    .toList();
+                    }
+                }
+            }
 
             List<AvailabilityDTO.ConflictDTO> conflicts = convertToConflictDTOs(conflictingEvents);
             boolean isAvailable = conflictingEvents.isEmpty();
             List<AvailabilitySlotDTO> suggestedSlots = Collections.emptyList();
 
-            if (isAvailable) {
-                logger.info("   🎉 RESULT: {} is AVAILABLE (no conflicts found)", email);
-            } else {
-                logger.error("   🚨 RESULT: {} is UNAVAILABLE ({} conflicts found)", email, conflicts.size());
-                for (AvailabilityDTO.ConflictDTO conflict : conflicts) {
-                    logger.error("     ⚠️  Blocking conflict: '{}' ({} to {})", conflict.getTitle(), conflict.getStartDateTime(), conflict.getEndDateTime());
-                }
+            if (!isAvailable) {
                 Duration meetingDuration = Duration.between(startDateTime, endDateTime);
                 if (!meetingDuration.isNegative() && !meetingDuration.isZero()) {
                     suggestedSlots = findAlternativeSlotsForUser(
@@ -155,12 +330,22 @@ public class AvailabilityService {
                 }
             }
 
+            if (trace) {
+                logger.info("availability.trace participant={} found=true busyIntervals={} conflicts={} suggestions={}",
+                    email, busy.size(), conflicts.size(), suggestedSlots.size());
+            }
+
             AvailabilityDTO result = new AvailabilityDTO(email, user.getDisplayName(), isAvailable, conflicts, suggestedSlots);
             result.setUserFound(true);
             return result;
 
         } catch (Exception e) {
-            logger.error("Error checking availability for {}: {}", email, e.getMessage(), e);
+            if (e instanceof InterruptedException || Thread.currentThread().isInterrupted()) {
+                // Cancelled at the request deadline; the caller already reported it as not evaluated
+                logger.debug("Availability check for {} cancelled", email);
+            } else {
+                logger.error("Error checking availability for {}: {}", email, e.getMessage(), e);
+            }
             // On error, cannot verify availability - mark as unavailable to be safe
             AvailabilityDTO fallback = new AvailabilityDTO(email, email, false, new ArrayList<>(), new ArrayList<>());
             fallback.setUserFound(true);
@@ -170,6 +355,7 @@ public class AvailabilityService {
 
     /**
      * Get all events where the user is busy (both organized events and accepted invitations)
+     * Both queries are limited to the window and fetch the organizer, so nothing is lazy-loaded afterwards.
      *
      * @param user The user to check
      * @param startDateTime Start of time window (UTC)
@@ -178,65 +364,51 @@ public class AvailabilityService {
      */
     private List<Event> getAllBusyEventsForUser(User user, Instant startDateTime, Instant endDateTime) {
         try {
-            List<Event> allBusyEvents = new ArrayList<>();
-
-            logger.info("     🔍 Getting ALL busy events for user: {} ({}) in window: {} to {}", 
-                user.getDisplayName(), user.getEmail(), startDateTime, endDateTime);
-
-            // 1. Get events organized by this user
             List<Event> organizedEvents = eventRepository.findByOrganizerAndDateRange(user.getId(), startDateTime, endDateTime);
-            logger.info("     📅 Found {} organized events in time window", organizedEvents.size());
-            for (Event event : organizedEvents) {
-                logger.info("       - Organized: '{}' ({} to {})", event.getTitle(), event.getStartDateTime(), event.getEndDateTime());
-            }
-            allBusyEvents.addAll(organizedEvents);
+            List<Event> acceptedEvents = eventRepository.findAcceptedInvitationsInRange(
+                user.getId(), user.getEmail().toLowerCase(), startDateTime, endDateTime);
 
-            // 2. Get events where this user has accepted invitations
-            List<Invitation> acceptedInvitations = invitationRepository.findByRecipientEmailAndStatus(
-                user.getEmail(), InvitationStatus.ACCEPTED);
-            
-            logger.info("     📨 Found {} accepted invitations total (checking all)", acceptedInvitations.size());
-            
-            if (acceptedInvitations.size() > 0) {
-                logger.info("     📝 Listing ALL accepted invitations:");
-                for (Invitation invitation : acceptedInvitations) {
-                    Event event = invitation.getEvent();
-                    logger.info("       - Invitation to: '{}' ({} to {})", 
-                        event.getTitle(), event.getStartDateTime(), event.getEndDateTime());
-                }
+            if (AvailabilityTrace.isActive()) {
+                logger.info("availability.trace participant={} window={}..{} organized={} accepted={}",
+                    user.getEmail(), startDateTime, endDateTime, organizedEvents.size(), acceptedEvents.size());
             }
 
-            // Filter accepted invitations to only include those in our time window
-            List<Event> acceptedEvents = acceptedInvitations.stream()
-                .map(Invitation::getEvent)
-                .filter(event -> {
-                    // Only include events that overlap with our time window
-                    boolean overlaps = event.getStartDateTime().isBefore(endDateTime) && 
-                                     event.getEndDateTime().isAfter(startDateTime);
-                    if (overlaps) {
-                        logger.info("     ⚠️  CONFLICTING accepted event: '{}' ({} to {})", 
-                            event.getTitle(), event.getStartDateTime(), event.getEndDateTime());
-                    } else {
-                        logger.info("     ✅ Non-conflicting accepted event: '{}' ({} to {})", 
-                            event.getTitle(), event.getStartDateTime(), event.getEndDateTime());
-                    }
-                    return overlaps;
-                })
-                .toList();
-
-            logger.info("     📊 SUMMARY: {} organized + {} accepted in window = {} total busy events", 
-                organizedEvents.size(), acceptedEvents.size(), organizedEvents.size() + acceptedEvents.size());
-            
+            if (acceptedEvents.isEmpty()) {
+                return organizedEvents;
+            }
+            List<Event> allBusyEvents = new ArrayList<>(organizedEvents.size() + acceptedEvents.size());
+            allBusyEvents.addAll(organizedEvents);
             allBusyEvents.addAll(acceptedEvents);
-
             return allBusyEvents;
             
         } catch (Exception e) {
-            logger.error("     ❌ ERROR in getAllBusyEventsForUser for {}: {}", user.getEmail(), e.getMessage(), e);
+            logger.error("Error loading busy events for {}: {}", user.getEmail(), e.getMessage(), e);
             return new ArrayList<>(); // Return empty list on error instead of causing failure
         }
     }
 
+    /**
+     * Get the user's coalesced busy time from the free/busy store
+     *
+     * @param user The user to check
+     * @param startDateTime Start of time window (UTC)
+     * @param endDateTime End of time window (UTC)
+     * @return Busy intervals covering at least the window
+     */
+    private BusyIntervals getBusyIntervals(User user, Instant startDateTime, Instant endDateTime) {
+        try {
+            BusyIntervals busy = freeBusyStore.getBusy(user, startDateTime, endDateTime);
+            if (AvailabilityTrace.isActive()) {
+                logger.info("availability.trace participant={} window={}..{} busyIntervals={}",
+                    user.getEmail(), startDateTime, endDateTime, busy.size());
+            }
+            return busy;
+        } catch (Exception e) {
+            logger.error("Error loading busy time for {}: {}", user.getEmail(), e.getMessage(), e);
+            return BusyIntervals.EMPTY; // Same fallback as for busy events
+        }
+    }
+
     /**
      * Check if an event has a time conflict with the proposed meeting
      *
@@ -246,28 +418,9 @@ public class AvailabilityService {
      * @return true if there's a conflict, false otherwise
      */
     private boolean hasTimeConflict(Event event, Instant proposedStart, Instant proposedEnd) {
-        // No conflict if event ends before or at proposed start
-        if (event.getEndDateTime().compareTo(proposedStart) <= 0) {
-            logger.debug("  No conflict: Event {} ends at {} (before proposed start {})", 
-                event.getTitle(), event.getEndDateTime(), proposedStart);
-            return false;
-        }
-
-        // No conflict if event starts at or after proposed end
-        if (event.getStartDateTime().compareTo(proposedEnd) >= 0) {
-            logger.debug("  No conflict: Event {} starts at {} (after proposed end {})", 
-                event.getTitle(), event.getStartDateTime(), proposedEnd);
-            return false;
-        }
-
-        // Otherwise there's an overlap
-        logger.debug("  ⚠️ CONFLICT: Event '{}' ({} - {}) overlaps with proposed ({} - {})", 
-            event.getTitle(), 
-            event.getStartDateTime(), 
-            event.getEndDateTime(), 
-            proposedStart, 
-            proposedEnd);
-        return true;
+        // Overlap unless the event ends at/before the proposed start or starts at/after the proposed end
+        return event.getEndDateTime().compareTo(proposedStart) > 0
+            && event.getStartDateTime().compareTo(proposedEnd) < 0;
     }
 
     /**
@@ -297,39 +450,104 @@ public class AvailabilityService {
     public List<AvailabilitySlotDTO> findAvailableSlots(AvailabilityRequestDTO request, User requestingUser) {
         // Validate input
         validateRequest(request);
+        long startNanos = calendarMetrics.tick();
         
-        // Use UTC as default timezone if no user is authenticated (for debugging)
-        String timezone = (requestingUser != null) ? requestingUser.getTimezone() : "UTC";
-        
-        // Get all participants' busy times
-        Map<String, List<Event>> participantEvents = getParticipantEvents(
+        // Get all participants' busy times and working hours
+        List<WorkingHoursProfile> workingHours = new ArrayList<>();
+        Map<String, BusyIntervals> participantBusy = getParticipantBusyTime(
             request.getParticipantEmails(),
             request.getStartRange(),
-            request.getEndRange()
+            request.getEndRange(),
+            workingHours
         );
+        if (workingHours.isEmpty()) {
+            // No participant has an account; fall back to the requester's hours
+            workingHours.add(requesterWorkingHours(requestingUser));
+        }
         
-        // Generate candidate time slots
+        // Generate candidate time slots within everyone's working hours
         Duration meetingDuration = Duration.ofMinutes(request.getDurationMinutes());
         List<AvailabilitySlotDTO> candidates = generateCandidateSlots(
             request.getStartRange(),
             request.getEndRange(),
             meetingDuration,
-            timezone  // Use the timezone variable instead of requestingUser.getTimezone()
+            workingHours
         );
         
         // Filter out slots that conflict with any participant's events
         List<AvailabilitySlotDTO> availableSlots = filterAvailableSlots(
             candidates,
-            participantEvents
+            participantBusy
         );
+        logger.info("Availability search: participants={} candidates={} free={}",
+            participantBusy.size(), candidates.size(), availableSlots.size());
         
         // Score and sort slots (earlier is better)
         scoreSlots(availableSlots, request.getStartRange());
         
         // Return top N suggestions
-        return availableSlots.stream()
+        List<AvailabilitySlotDTO> suggestions = availableSlots.stream()
             .limit(MAX_SUGGESTIONS)
             .collect(Collectors.toList());
+        calendarMetrics.recordAvailabilitySearch(request.getParticipantEmails().size(), startNanos);
+        return suggestions;
+    }
+    
+    /**
+     * Rank meeting slots for required and optional attendees, best first.
+     * Unlike findAvailableSlots this does not need a slot that is free for
+     * everyone: slots are scored by who can attend, whether it falls in each
+     * attendee's working hours and how much it fragments their day.
+     * Unknown emails are treated as free during the requester's working hours.
+     *
+     * @param request Participants (required), optional participants, date range, duration and maxResults
+     * @param requestingUser The authenticated user making the request
+     * @return Up to maxResults ranked slots (default 5)
+     */
+    public List<RankedSlotDTO> findOptimalSlots(AvailabilityRequestDTO request, User requestingUser) {
+        validateRequest(request);
+        if (Duration.between(request.getStartRange(), request.getEndRange()).toDays() > MAX_OPTIMIZED_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_OPTIMIZED_RANGE_DAYS + " days");
+        }
+        long startNanos = calendarMetrics.tick();
+
+        WorkingHoursProfile fallbackHours = requesterWorkingHours(requestingUser);
+        Map<String, Boolean> requiredByEmail = new LinkedHashMap<>();
+        for (String email : request.getParticipantEmails()) {
+            requiredByEmail.put(email.toLowerCase(), true);
+        }
+        if (request.getOptionalParticipantEmails() != null) {
+            for (String email : request.getOptionalParticipantEmails()) {
+                requiredByEmail.putIfAbsent(email.toLowerCase(), false);
+            }
+        }
+
+        List<SlotOptimizer.Attendee> attendees = new ArrayList<>(requiredByEmail.size());
+        for (Map.Entry<String, Boolean> entry : requiredByEmail.entrySet()) {
+            Optional<User> userOpt = userRepository.findByEmail(entry.getKey());
+            if (userOpt.isPresent()) {
+                User user = userOpt.get();
+                BusyIntervals busy = getBusyIntervals(user, request.getStartRange(), request.getEndRange());
+                attendees.add(SlotOptimizer.Attendee.of(
+                    entry.getKey(), entry.getValue(), workingHoursService.getProfile(user), busy));
+            } else {
+                attendees.add(SlotOptimizer.Attendee.of(
+                    entry.getKey(), entry.getValue(), fallbackHours, BusyIntervals.EMPTY));
+            }
+        }
+
+        int maxResults = request.getMaxResults() == null
+            ? MAX_SUGGESTIONS
+            : Math.min(Math.max(1, request.getMaxResults()), MAX_OPTIMIZED_RESULTS);
+        SlotOptimizer optimizer = new SlotOptimizer(
+            Duration.ofMinutes(request.getDurationMinutes()), SLOT_STEP, maxResults);
+        List<RankedSlotDTO> ranked = optimizer.rank(attendees, request.getStartRange(), request.getEndRange());
+
+        logger.info("Optimal slot search: attendees={} required={} results={} bestScore={}",
+            attendees.size(), request.getParticipantEmails().size(), ranked.size(),
+            ranked.isEmpty() ? 0 : ranked.get(0).getScore());
+        calendarMetrics.recordAvailabilitySearch(attendees.size(), startNanos);
+        return ranked;
     }
     
     /**
@@ -358,66 +576,88 @@ public class AvailabilityService {
     }
     
     /**
-     * Get all events for participants in the date range
+     * Get the busy time of participants in the date range, collecting the
+     * working hours of those who have an account
      */
-    private Map<String, List<Event>> getParticipantEvents(
+    private Map<String, BusyIntervals> getParticipantBusyTime(
             List<String> participantEmails, 
             Instant start, 
-            Instant end) {
+            Instant end,
+            List<WorkingHoursProfile> workingHours) {
         
-        Map<String, List<Event>> eventsByParticipant = new HashMap<>();
+        Map<String, BusyIntervals> busyByParticipant = new HashMap<>();
         
         for (String email : participantEmails) {
             // Find user by email
             Optional<User> userOpt = userRepository.findByEmail(email);
             if (userOpt.isPresent()) {
                 User user = userOpt.get();
-                // Use the same comprehensive logic to get all busy events
-                List<Event> events = getAllBusyEventsForUser(user, start, end);
-                eventsByParticipant.put(email, events);
+                busyByParticipant.put(email, getBusyIntervals(user, start, end));
+                workingHours.add(workingHoursService.getProfile(user));
             } else {
                 // If user doesn't exist, assume they have no events
-                eventsByParticipant.put(email, Collections.emptyList());
+                busyByParticipant.put(email, BusyIntervals.EMPTY);
             }
         }
         
-        return eventsByParticipant;
+        return busyByParticipant;
     }
     
     /**
-     * Generate candidate time slots during business hours
+     * Generate candidate time slots, every 30 minutes from the range start,
+     * that lie within the working hours of everyone in the list.
+     * The profiles are intersected as bitmasks over the range first, so
+     * stretches outside the common hours are skipped rather than generated.
      */
-    @Cacheable(value = "candidateSlots", key = "#start + '-' + #end + '-' + #duration.toMinutes() + '-' + #timezone")
     private List<AvailabilitySlotDTO> generateCandidateSlots(
             Instant start, 
             Instant end, 
             Duration duration,
-            String timezone) {
+            List<WorkingHoursProfile> workingHours) {
         
-        List<AvailabilitySlotDTO> candidates = new ArrayList<>();
-        ZoneId zoneId = ZoneId.of(timezone);
+        long unitMillis = WorkingHoursProfile.UNIT_MILLIS;
+        long origin = Math.floorDiv(start.toEpochMilli(), unitMillis) * unitMillis;
+        int units = (int) ((end.toEpochMilli() - origin + unitMillis - 1) / unitMillis);
+        long[] common = null;
+        for (WorkingHoursProfile profile : workingHours) {
+            long[] mask = profile.compile(origin, units);
+            if (common == null) {
+                common = mask;
+            } else {
+                for (int w = 0; w < common.length; w++) {
+                    common[w] &= mask[w];
+                }
+            }
+        }
         
-        // Start from the beginning of the range
+        List<AvailabilitySlotDTO> candidates = new ArrayList<>();
+        long stepMillis = SLOT_STEP.toMillis();
         Instant current = start;
         
-        // Generate slots in 30-minute increments during business hours
-        while (current.plus(duration).isBefore(end) || current.plus(duration).equals(end)) {
-            ZonedDateTime zonedCurrent = current.atZone(zoneId);
-            LocalTime timeOfDay = zonedCurrent.toLocalTime();
+        while (!current.plus(duration).isAfter(end)) {
+            long offset = current.toEpochMilli() - origin;
+            int fromUnit = (int) (offset / unitMillis);
+            int toUnit = (int) ((offset + duration.toMillis() + unitMillis - 1) / unitMillis);
+            
+            int next = WorkingHoursProfile.nextSetBit(common, fromUnit);
+            if (next < 0) {
+                break;
+            }
+            if (next > fromUnit) {
+                // Outside the common hours: jump to the first step at or after they resume
+                long gap = origin + next * unitMillis - current.toEpochMilli();
+                current = current.plusMillis((gap + stepMillis - 1) / stepMillis * stepMillis);
+                continue;
+            }
             
-            // Only suggest slots during business hours (9 AM - 5 PM)
-            if (!timeOfDay.isBefore(BUSINESS_START) && 
-                timeOfDay.plus(duration).isBefore(BUSINESS_END.plusMinutes(1))) {
-                
+            if (WorkingHoursProfile.allSet(common, fromUnit, toUnit)) {
                 candidates.add(new AvailabilitySlotDTO(
                     current,
                     current.plus(duration),
                     0.0 // Score will be calculated later
                 ));
             }
-            
-            // Move to next 30-minute increment
-            current = current.plus(Duration.ofMinutes(30));
+            current = current.plusMillis(stepMillis);
         }
         
         return candidates;
@@ -428,10 +668,10 @@ public class AvailabilityService {
      */
     private List<AvailabilitySlotDTO> filterAvailableSlots(
             List<AvailabilitySlotDTO> candidates,
-            Map<String, List<Event>> participantEvents) {
+            Map<String, BusyIntervals> participantBusy) {
         
         return candidates.stream()
-            .filter(slot -> isSlotAvailable(slot, participantEvents))
+            .filter(slot -> isSlotAvailable(slot, participantBusy))
             .collect(Collectors.toList());
     }
     
@@ -440,29 +680,18 @@ public class AvailabilityService {
      */
     private boolean isSlotAvailable(
             AvailabilitySlotDTO slot,
-            Map<String, List<Event>> participantEvents) {
+            Map<String, BusyIntervals> participantBusy) {
         
-        // Check each participant's events
-        for (List<Event> events : participantEvents.values()) {
-            for (Event event : events) {
-                // Check if slot overlaps with this event
-                if (slotsOverlap(slot.getStartTime(), slot.getEndTime(),
-                                event.getStartDateTime(), event.getEndDateTime())) {
-                    return false;
-                }
+        // Binary search in each participant's merged busy time
+        for (BusyIntervals busy : participantBusy.values()) {
+            if (busy.overlaps(slot.getStartTime(), slot.getEndTime())) {
+                return false;
             }
         }
         
         return true;
     }
     
-    /**
-     * Check if two time ranges overlap
-     */
-    private boolean slotsOverlap(Instant start1, Instant end1, Instant start2, Instant end2) {
-        return start1.isBefore(end2) && end1.isAfter(start2);
-    }
-    
     /**
      * Score slots based on various factors (earlier times are better)
      */
@@ -515,7 +744,6 @@ public class AvailabilityService {
             return Collections.emptyList();
         }
 
-        String timezone = resolveTimezone(user);
         Instant searchStart = proposedStart;
         Instant searchEnd = proposedStart.plus(Duration.ofDays(PER_ATTENDEE_LOOKAHEAD_DAYS));
 
@@ -525,15 +753,16 @@ public class AvailabilityService {
             searchEnd = minimumEnd;
         }
 
-        List<Event> busyEvents = getAllBusyEventsForUser(user, searchStart, searchEnd);
-        Map<String, List<Event>> participantEvents = Map.of(user.getEmail(), busyEvents);
+        Map<String, BusyIntervals> participantBusy =
+            Map.of(user.getEmail(), getBusyIntervals(user, searchStart, searchEnd));
 
-        List<AvailabilitySlotDTO> candidates = generateCandidateSlots(searchStart, searchEnd, meetingDuration, timezone);
+        List<AvailabilitySlotDTO> candidates = generateCandidateSlots(
+            searchStart, searchEnd, meetingDuration, List.of(workingHoursService.getProfile(user)));
         if (candidates.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<AvailabilitySlotDTO> available = filterAvailableSlots(candidates, participantEvents).stream()
+        List<AvailabilitySlotDTO> available = filterAvailableSlots(candidates, participantBusy).stream()
             .filter(slot -> !slot.getStartTime().isBefore(proposedStart))
             .collect(Collectors.toList());
 
@@ -548,66 +777,89 @@ public class AvailabilityService {
             .collect(Collectors.toList());
     }
 
-    private String resolveTimezone(User user) {
-        if (user == null) {
-            return "UTC";
+    /**
+     * Working hours of the requester, or the UTC defaults when there is none
+     */
+    private WorkingHoursProfile requesterWorkingHours(User requestingUser) {
+        return requestingUser != null
+            ? workingHoursService.getProfile(requestingUser)
+            : WorkingHoursProfile.defaultFor("UTC");
+    }
+    
+    /**
+     * Validate a bulk free/busy request before any output is written
+     *
+     * @throws IllegalArgumentException if emails or the window are missing, there are
+     *         more emails than the configured cap or the window is too long
+     */
+    public void validateFreeBusyRequest(FreeBusyRequestDTO request) {
+        if (request.getEmails() == null || request.getEmails().isEmpty()) {
+            throw new IllegalArgumentException("At least one email is required");
         }
-
-        String timezone = user.getTimezone();
-        if (timezone == null || timezone.isBlank()) {
-            return "UTC";
+        if (request.getEmails().size() > maxFreeBusyEmails) {
+            throw new IllegalArgumentException("At most " + maxFreeBusyEmails + " emails per request");
         }
-
-        try {
-            ZoneId.of(timezone);
-            return timezone;
-        } catch (DateTimeException ex) {
-            logger.warn("Invalid timezone '{}' for user {}. Falling back to UTC.", timezone, user.getEmail());
-            return "UTC";
+        if (request.getStart() == null || request.getEnd() == null) {
+            throw new IllegalArgumentException("Start and end are required");
+        }
+        if (!request.getEnd().isAfter(request.getStart())) {
+            throw new IllegalArgumentException("End must be after start");
+        }
+        if (Duration.between(request.getStart(), request.getEnd()).toDays() >= FreeBusyStore.MAX_CACHED_DAYS) {
+            throw new IllegalArgumentException("Window cannot exceed " + FreeBusyStore.MAX_CACHED_DAYS + " days");
         }
     }
-    
+
     /**
-     * Get suggested collaborators for the current user
-     * Returns users they have previously invited to events, sorted by frequency
+     * Look up the busy time of many users, handing each one to the consumer in
+     * request order. Users and busy time are fetched a batch at a time, so memory
+     * is bounded by the batch size however many emails are requested.
      *
-     * @param userId The current user's ID
-     * @param limit Maximum number of suggestions to return
-     * @return List of CollaboratorDTO representing suggested collaborators
+     * @param request Validated request (see validateFreeBusyRequest)
+     * @param consumer Receives each distinct lowercased email with its busy
+     *                 intervals, or null when no user has that email
      */
-    public List<CollaboratorDTO> getSuggestedCollaborators(UUID userId, int limit) {
-        try {
-            // Find the current user
-            Optional<User> currentUserOpt = userRepository.findById(userId);
-            if (currentUserOpt.isEmpty()) {
-                logger.warn("User not found: {}", userId);
-                return new ArrayList<>();
-            }
+    public void streamFreeBusy(FreeBusyRequestDTO request, BiConsumer<String, BusyIntervals> consumer) {
+        List<String> emails = request.getEmails().stream()
+            .filter(Objects::nonNull)
+            .map(String::toLowerCase)
+            .distinct()
+            .collect(Collectors.toList());
 
-            // Get all invitations where this user was the organizer
-            List<Object[]> collaborators = userRepository.findFrequentCollaborators(userId, limit);
-
-            List<CollaboratorDTO> result = new ArrayList<>();
-            for (Object[] row : collaborators) {
-                String email = (String) row[0];
-                String displayName = (String) row[1];
-                String timezone = (String) row[2];
-                Long count = (Long) row[3];
-
-                result.add(new CollaboratorDTO(
-                    email,
-                    displayName,
-                    timezone,
-                    count.intValue()
-                ));
+        for (int from = 0; from < emails.size(); from += FREE_BUSY_BATCH_SIZE) {
+            List<String> batch = emails.subList(from, Math.min(from + FREE_BUSY_BATCH_SIZE, emails.size()));
+            List<User> users = userRepository.findByEmailIn(batch);
+            Map<String, BusyIntervals> busy = freeBusyStore.getBusy(users, request.getStart(), request.getEnd());
+            for (String email : batch) {
+                consumer.accept(email, busy.get(email));
             }
+        }
+        logger.info("Free/busy lookup: emails={} window={}..{}", emails.size(), request.getStart(), request.getEnd());
+    }
 
-            logger.debug("Found {} suggested collaborators for user {}", result.size(), userId);
-            return result;
-
-        } catch (Exception e) {
-            logger.error("Error getting suggested collaborators: {}", e.getMessage(), e);
-            return new ArrayList<>();
+    /**
+     * Get suggested collaborators for the current user
+     * Returns registered users they have invited most often, from the maintained
+     * collaborator counts. Cached per user until they invite someone again or
+     * any user is saved (see CollaboratorCountRepository and UserRepository).
+     *
+     * @param userId The current user's ID
+     * @return Up to MAX_COLLABORATORS CollaboratorDTOs, most frequent first
+     */
+    @Cacheable(value = "collaborators", key = "#userId")
+    public List<CollaboratorDTO> getSuggestedCollaborators(UUID userId) {
+        List<CollaboratorDTO> result = new ArrayList<>();
+        for (CollaboratorCountRepository.TopCollaborator row :
+                collaboratorCountRepository.findTopCollaborators(userId, PageRequest.of(0, MAX_COLLABORATORS))) {
+            result.add(new CollaboratorDTO(
+                row.getEmail(),
+                row.getDisplayName(),
+                row.getTimezone(),
+                row.getCount()
+            ));
         }
+
+        logger.debug("Found {} suggested collaborators for user {}", result.size(), userId);
+        return result;
     }
 }
@@ -0,0 +1,26 @@
+package com.example.calendar.availability;
+
+/**
+ * Per-request diagnostic switch for availability computations.
+ * When active on the current thread, AvailabilityService logs each event and
+ * conflict it inspects; otherwise only one summary line per request is written.
+ */
+public final class AvailabilityTrace {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private AvailabilityTrace() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    static void start() {
+        ACTIVE.set(Boolean.TRUE);
+    }
+
+    static void stop() {
+        ACTIVE.remove();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.calendar.availability;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Turns on availability tracing for a request when the X-Availability-Trace
+ * header is "true", or for a random sample of requests when
+ * app.availability.trace.sample-rate is above zero.
+ */
+@Component
+public class AvailabilityTraceInterceptor implements HandlerInterceptor {
+
+    public static final String TRACE_HEADER = "X-Availability-Trace";
+
+    @Value("${app.availability.trace.sample-rate:0.0}")
+    private double sampleRate;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("true".equalsIgnoreCase(request.getHeader(TRACE_HEADER))
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            AvailabilityTrace.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        AvailabilityTrace.stop();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.calendar.availability;
+
+import com.example.calendar.events.Event;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A user's busy time as sorted, non-overlapping intervals (epoch millis).
+ * Overlapping and touching events are coalesced, so checking a slot is a
+ * binary search over a handful of intervals rather than a scan of events.
+ */
+public final class BusyIntervals {
+
+    static final BusyIntervals EMPTY = new BusyIntervals(new long[0], new long[0]);
+
+    final long[] starts;
+    final long[] ends;
+
+    private BusyIntervals(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    /**
+     * Coalesce the time taken by a list of events
+     */
+    public static BusyIntervals fromEvents(List<Event> events) {
+        List<long[]> intervals = new ArrayList<>(events.size());
+        for (Event event : events) {
+            intervals.add(new long[]{event.getStartDateTime().toEpochMilli(), event.getEndDateTime().toEpochMilli()});
+        }
+        return coalesce(intervals);
+    }
+
+    /**
+     * Coalesce [start, end] pairs in any order; empty intervals are dropped
+     */
+    static BusyIntervals coalesce(List<long[]> intervals) {
+        List<long[]> sorted = new ArrayList<>(intervals.size());
+        for (long[] interval : intervals) {
+            if (interval[1] > interval[0]) {
+                sorted.add(interval);
+            }
+        }
+        sorted.sort(Comparator.comparingLong(interval -> interval[0]));
+
+        long[] starts = new long[sorted.size()];
+        long[] ends = new long[sorted.size()];
+        int count = 0;
+        for (long[] interval : sorted) {
+            if (count > 0 && interval[0] <= ends[count - 1]) {
+                ends[count - 1] = Math.max(ends[count - 1], interval[1]);
+            } else {
+                starts[count] = interval[0];
+                ends[count] = interval[1];
+                count++;
+            }
+        }
+        return new BusyIntervals(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+    /**
+     * Join per-day [start, end] pairs that are coalesced and ordered within
+     * and across days, merging intervals that meet at midnight
+     */
+    static BusyIntervals ofDays(long[][] days, int pairs) {
+        long[] starts = new long[pairs];
+        long[] ends = new long[pairs];
+        int count = 0;
+        for (long[] day : days) {
+            for (int i = 0; i < day.length; i += 2) {
+                if (count > 0 && day[i] <= ends[count - 1]) {
+                    ends[count - 1] = Math.max(ends[count - 1], day[i + 1]);
+                } else {
+                    starts[count] = day[i];
+                    ends[count] = day[i + 1];
+                    count++;
+                }
+            }
+        }
+        return count == pairs ? new BusyIntervals(starts, ends)
+            : new BusyIntervals(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    /**
+     * Whether any busy interval overlaps [start, end)
+     */
+    public boolean overlaps(Instant start, Instant end) {
+        return overlaps(start.toEpochMilli(), end.toEpochMilli());
+    }
+
+    boolean overlaps(long start, long end) {
+        int index = firstEndingAfter(start);
+        return index < starts.length && starts[index] < end;
+    }
+
+    /**
+     * Index of the first interval that ends after the given time
+     */
+    int firstEndingAfter(long time) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
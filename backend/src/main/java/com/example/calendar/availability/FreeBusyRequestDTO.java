@@ -0,0 +1,46 @@
+package com.example.calendar.availability;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Request DTO for bulk free/busy lookups
+ */
+public class FreeBusyRequestDTO {
+    private List<String> emails;
+    private Instant start;
+    private Instant end;
+
+    public FreeBusyRequestDTO() {
+    }
+
+    public FreeBusyRequestDTO(List<String> emails, Instant start, Instant end) {
+        this.emails = emails;
+        this.start = start;
+        this.end = end;
+    }
+
+    public List<String> getEmails() {
+        return emails;
+    }
+
+    public void setEmails(List<String> emails) {
+        this.emails = emails;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public void setStart(Instant start) {
+        this.start = start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+
+    public void setEnd(Instant end) {
+        this.end = end;
+    }
+}
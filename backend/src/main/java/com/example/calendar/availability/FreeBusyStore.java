@@ -0,0 +1,343 @@
+package com.example.calendar.availability;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.events.Event;
+import com.example.calendar.events.EventRepository;
+import com.example.calendar.shared.CalendarChangedEvent;
+import com.example.calendar.shared.ChangeVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Memory-resident free/busy time per user, kept as coalesced busy intervals
+ * per UTC day.
+ *
+ * Days are materialized on first use from the organizer and accepted-invitation
+ * queries (the database remains the source of truth) and maintained
+ * incrementally: after a change commits, only the days covered by the change
+ * window are dropped for the affected users, so the next search reloads just
+ * those. Each user's days are tagged with their change version; when the
+ * version moves on without this node seeing the change (another instance,
+ * cache eviction), the user's days are discarded as a whole.
+ */
+@Component
+public class FreeBusyStore {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    static final int MAX_CACHED_DAYS = 92;
+    private static final int MAX_DAYS_PER_USER = 2 * MAX_CACHED_DAYS;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Value("${app.freebusy.max-users:10000}")
+    private int maxUsers = 10000;
+
+    private final Map<String, UserDays> users = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserDays> eldest) {
+                return size() > maxUsers;
+            }
+        });
+
+    /**
+     * Busy days of one user, all tagged with the change version they were loaded under
+     */
+    private static final class UserDays {
+        private String version;
+        private final Map<Long, long[]> days = new HashMap<>();
+
+        private UserDays(String version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * Get the user's busy time over whole UTC days covering [start, end)
+     *
+     * @param user The user
+     * @param start Start of the window (UTC)
+     * @param end End of the window (UTC)
+     * @return Coalesced busy intervals; may extend past the window to the day boundaries
+     */
+    public BusyIntervals getBusy(User user, Instant start, Instant end) {
+        long firstDay = Math.floorDiv(start.toEpochMilli(), MILLIS_PER_DAY);
+        long lastDay = Math.floorDiv(end.toEpochMilli() - 1, MILLIS_PER_DAY);
+        if (lastDay < firstDay) {
+            return BusyIntervals.EMPTY;
+        }
+        if (lastDay - firstDay >= MAX_CACHED_DAYS) {
+            // Too wide to be worth keeping; answer straight from the database
+            return BusyIntervals.fromEvents(loadEvents(user, start, end));
+        }
+
+        String key = user.getEmail().toLowerCase();
+        // Read the version before loading, so a change committed meanwhile keeps the result out of the store
+        String version = changeVersionService.currentVersion(key);
+        UserDays entry = entryFor(key, version);
+
+        Map<Long, long[]> days = cachedDays(entry, firstDay, lastDay);
+        if (days.size() <= lastDay - firstDay) {
+            // One query over the span of missing days, cut back into days
+            long missingFrom = firstDay;
+            long missingTo = lastDay;
+            while (days.containsKey(missingFrom)) {
+                missingFrom++;
+            }
+            while (days.containsKey(missingTo)) {
+                missingTo--;
+            }
+            Instant loadStart = Instant.ofEpochMilli(missingFrom * MILLIS_PER_DAY);
+            Instant loadEnd = Instant.ofEpochMilli((missingTo + 1) * MILLIS_PER_DAY);
+            Map<Long, long[]> loaded = splitByDay(
+                BusyIntervals.fromEvents(loadEvents(user, loadStart, loadEnd)), missingFrom, missingTo);
+            remember(entry, version, days, loaded);
+        }
+        return join(days, firstDay, lastDay);
+    }
+
+    /**
+     * Get the busy time of many users at once. Users whose days are all in
+     * memory are answered directly; the rest are loaded together with two
+     * queries over the whole window, so callers should pass modest batches.
+     *
+     * @param users The users
+     * @param start Start of the window (UTC)
+     * @param end End of the window (UTC)
+     * @return Coalesced busy intervals by lowercased email, for every user
+     */
+    public Map<String, BusyIntervals> getBusy(Collection<User> users, Instant start, Instant end) {
+        Map<String, BusyIntervals> result = new HashMap<>();
+        long firstDay = Math.floorDiv(start.toEpochMilli(), MILLIS_PER_DAY);
+        long lastDay = Math.floorDiv(end.toEpochMilli() - 1, MILLIS_PER_DAY);
+        if (lastDay < firstDay || users.isEmpty()) {
+            users.forEach(user -> result.put(user.getEmail().toLowerCase(), BusyIntervals.EMPTY));
+            return result;
+        }
+        if (lastDay - firstDay >= MAX_CACHED_DAYS) {
+            Map<String, List<long[]>> rows = loadBusy(users, start, end);
+            for (User user : users) {
+                String key = user.getEmail().toLowerCase();
+                result.put(key, BusyIntervals.coalesce(rows.getOrDefault(key, Collections.emptyList())));
+            }
+            return result;
+        }
+
+        List<User> missing = new ArrayList<>();
+        Map<String, String> versions = new HashMap<>();
+        Map<String, UserDays> entries = new HashMap<>();
+        Map<String, Map<Long, long[]>> partial = new HashMap<>();
+        for (User user : users) {
+            String key = user.getEmail().toLowerCase();
+            String version = changeVersionService.currentVersion(key);
+            UserDays entry = entryFor(key, version);
+            Map<Long, long[]> days = cachedDays(entry, firstDay, lastDay);
+            if (days.size() > lastDay - firstDay) {
+                result.put(key, join(days, firstDay, lastDay));
+            } else {
+                missing.add(user);
+                versions.put(key, version);
+                entries.put(key, entry);
+                partial.put(key, days);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<String, List<long[]>> rows = loadBusy(missing,
+            Instant.ofEpochMilli(firstDay * MILLIS_PER_DAY), Instant.ofEpochMilli((lastDay + 1) * MILLIS_PER_DAY));
+        for (User user : missing) {
+            String key = user.getEmail().toLowerCase();
+            Map<Long, long[]> loaded = splitByDay(
+                BusyIntervals.coalesce(rows.getOrDefault(key, Collections.emptyList())), firstDay, lastDay);
+            Map<Long, long[]> days = partial.get(key);
+            remember(entries.get(key), versions.get(key), days, loaded);
+            result.put(key, join(days, firstDay, lastDay));
+        }
+        return result;
+    }
+
+    /**
+     * Drop the days a committed change touched for every affected user.
+     * Runs after the change versions have been replaced, so the entries are
+     * re-tagged with the new version and the rest of their days stay valid.
+     * Rejected or superseded proposals never change busy time, so they only re-tag.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        boolean affectsBusyTime = event.getChange() != CalendarChangedEvent.Change.PROPOSAL_REJECTED
+            && event.getChange() != CalendarChangedEvent.Change.PROPOSALS_SUPERSEDED;
+        for (String email : event.getEmails()) {
+            UserDays entry = users.get(email);
+            if (entry == null) {
+                continue;
+            }
+            synchronized (entry) {
+                entry.version = changeVersionService.currentVersion(email);
+                if (!affectsBusyTime) {
+                    continue;
+                }
+                if (!event.hasWindow()) {
+                    entry.days.clear();
+                    continue;
+                }
+                long firstDay = Math.floorDiv(event.getWindowStart().toEpochMilli(), MILLIS_PER_DAY);
+                long lastDay = Math.floorDiv(event.getWindowEnd().toEpochMilli(), MILLIS_PER_DAY);
+                if (lastDay - firstDay >= MAX_CACHED_DAYS) {
+                    entry.days.clear();
+                } else {
+                    for (long day = firstDay; day <= lastDay; day++) {
+                        entry.days.remove(day);
+                    }
+                }
+            }
+        }
+    }
+
+    private UserDays entryFor(String key, String version) {
+        synchronized (users) {
+            UserDays entry = users.get(key);
+            if (entry == null) {
+                entry = new UserDays(version);
+                users.put(key, entry);
+                return entry;
+            }
+            synchronized (entry) {
+                if (!version.equals(entry.version)) {
+                    // Changed elsewhere since these days were loaded
+                    entry.version = version;
+                    entry.days.clear();
+                }
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Snapshot of the days of [firstDay, lastDay] the entry already holds
+     */
+    private static Map<Long, long[]> cachedDays(UserDays entry, long firstDay, long lastDay) {
+        Map<Long, long[]> days = new HashMap<>();
+        synchronized (entry) {
+            for (long day = firstDay; day <= lastDay; day++) {
+                long[] busy = entry.days.get(day);
+                if (busy != null) {
+                    days.put(day, busy);
+                }
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Add freshly loaded days to the snapshot, and to the entry unless a
+     * change has been seen since the version was read
+     */
+    private static void remember(UserDays entry, String version, Map<Long, long[]> days, Map<Long, long[]> loaded) {
+        synchronized (entry) {
+            if (entry.days.size() + loaded.size() > MAX_DAYS_PER_USER) {
+                entry.days.clear();
+            }
+            for (Map.Entry<Long, long[]> day : loaded.entrySet()) {
+                if (days.putIfAbsent(day.getKey(), day.getValue()) == null && version.equals(entry.version)) {
+                    entry.days.put(day.getKey(), day.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Days are already coalesced and in order; only intervals running over midnight need joining
+     */
+    private static BusyIntervals join(Map<Long, long[]> days, long firstDay, long lastDay) {
+        long[][] ordered = new long[(int) (lastDay - firstDay + 1)][];
+        int pairs = 0;
+        for (long day = firstDay; day <= lastDay; day++) {
+            long[] busy = days.get(day);
+            ordered[(int) (day - firstDay)] = busy;
+            pairs += busy.length / 2;
+        }
+        return BusyIntervals.ofDays(ordered, pairs);
+    }
+
+    /**
+     * Busy intervals of many users by lowercased email, from two batched
+     * queries that read only event times
+     */
+    private Map<String, List<long[]>> loadBusy(Collection<User> users, Instant start, Instant end) {
+        List<UUID> ids = new ArrayList<>(users.size());
+        List<String> emails = new ArrayList<>(users.size());
+        for (User user : users) {
+            ids.add(user.getId());
+            emails.add(user.getEmail().toLowerCase());
+        }
+        Map<String, List<long[]>> byEmail = new HashMap<>();
+        List<EventRepository.BusyRow> rows = new ArrayList<>(eventRepository.findOrganizedBusyInRange(ids, start, end));
+        rows.addAll(eventRepository.findAcceptedBusyInRange(emails, start, end));
+        for (EventRepository.BusyRow row : rows) {
+            byEmail.computeIfAbsent(row.getEmail().toLowerCase(), email -> new ArrayList<>())
+                .add(new long[]{row.getStartDateTime().toEpochMilli(), row.getEndDateTime().toEpochMilli()});
+        }
+        return byEmail;
+    }
+
+    private List<Event> loadEvents(User user, Instant start, Instant end) {
+        List<Event> organized = eventRepository.findByOrganizerAndDateRange(user.getId(), start, end);
+        List<Event> accepted = eventRepository.findAcceptedInvitationsInRange(
+            user.getId(), user.getEmail().toLowerCase(), start, end);
+        if (accepted.isEmpty()) {
+            return organized;
+        }
+        List<Event> all = new ArrayList<>(organized.size() + accepted.size());
+        all.addAll(organized);
+        all.addAll(accepted);
+        return all;
+    }
+
+    /**
+     * Cut coalesced intervals at day boundaries, as [start, end] pairs per day;
+     * days without busy time get an empty array so they count as loaded
+     */
+    private static Map<Long, long[]> splitByDay(BusyIntervals busy, long firstDay, long lastDay) {
+        Map<Long, List<Long>> byDay = new HashMap<>();
+        for (int i = 0; i < busy.size(); i++) {
+            long start = busy.starts[i];
+            long end = busy.ends[i];
+            long day = Math.max(firstDay, Math.floorDiv(start, MILLIS_PER_DAY));
+            while (day <= lastDay && day * MILLIS_PER_DAY < end) {
+                long dayStart = day * MILLIS_PER_DAY;
+                List<Long> bounds = byDay.computeIfAbsent(day, d -> new ArrayList<>());
+                bounds.add(Math.max(start, dayStart));
+                bounds.add(Math.min(end, dayStart + MILLIS_PER_DAY));
+                day++;
+            }
+        }
+        Map<Long, long[]> days = new HashMap<>();
+        for (long day = firstDay; day <= lastDay; day++) {
+            List<Long> bounds = byDay.getOrDefault(day, Collections.emptyList());
+            long[] pairs = new long[bounds.size()];
+            for (int i = 0; i < pairs.length; i++) {
+                pairs[i] = bounds.get(i);
+            }
+            days.put(day, pairs);
+        }
+        return days;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.calendar.availability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable prefix index over a list of items.
+ *
+ * Each item contributes a few lowercase keys (for people: the email, the full
+ * display name and each of its words), stored as one sorted array of keys
+ * with a parallel array of item positions. A lookup is a binary search for
+ * the first key at or after the prefix followed by a forward scan while keys
+ * still start with it, so matches come out in key order without touching
+ * the rest of the index.
+ */
+final class PrefixIndex<T> {
+
+    private final List<T> items;
+    private final String[] keys;
+    private final int[] refs;
+
+    private PrefixIndex(List<T> items, String[] keys, int[] refs) {
+        this.items = items;
+        this.keys = keys;
+        this.refs = refs;
+    }
+
+    /**
+     * Index items under the keys returned for each; keys are lowercased
+     */
+    static <T> PrefixIndex<T> build(List<T> items, Function<T, Collection<String>> keysOf) {
+        List<String> allKeys = new ArrayList<>(items.size() * 3);
+        List<Integer> allRefs = new ArrayList<>(items.size() * 3);
+        for (int i = 0; i < items.size(); i++) {
+            for (String key : keysOf.apply(items.get(i))) {
+                if (key != null && !key.isBlank()) {
+                    allKeys.add(normalize(key));
+                    allRefs.add(i);
+                }
+            }
+        }
+        Integer[] order = new Integer[allKeys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(allKeys::get));
+
+        String[] keys = new String[order.length];
+        int[] refs = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = allKeys.get(order[i]);
+            refs[i] = allRefs.get(order[i]);
+        }
+        return new PrefixIndex<>(List.copyOf(items), keys, refs);
+    }
+
+    /**
+     * Keys of a person: email, display name and each word of the display name
+     */
+    static List<String> personKeys(String email, String displayName) {
+        List<String> keys = new ArrayList<>(4);
+        keys.add(email);
+        if (displayName != null && !displayName.isBlank()) {
+            keys.add(displayName);
+            String[] words = displayName.trim().split("\\s+");
+            for (int i = 1; i < words.length; i++) {
+                keys.add(words[i]);
+            }
+        }
+        return keys;
+    }
+
+    static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    List<T> items() {
+        return items;
+    }
+
+    int keyCount() {
+        return keys.length;
+    }
+
+    /**
+     * Distinct items with a key starting with the prefix, in key order
+     *
+     * @param prefix Normalized prefix
+     * @param accept Filter applied before counting towards max
+     * @param max Maximum number of items to return
+     */
+    List<T> search(String prefix, Predicate<T> accept, int max) {
+        List<T> found = new ArrayList<>(Math.min(max, 16));
+        Set<Integer> seen = new HashSet<>();
+        for (int i = lowerBound(prefix); i < keys.length && keys[i].startsWith(prefix) && found.size() < max; i++) {
+            if (!seen.add(refs[i])) {
+                continue;
+            }
+            T item = items.get(refs[i]);
+            if (accept.test(item)) {
+                found.add(item);
+            }
+        }
+        return found;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
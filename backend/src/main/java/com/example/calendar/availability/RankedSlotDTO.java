@@ -0,0 +1,75 @@
+package com.example.calendar.availability;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Time slot returned by the optimizing meeting search, with the attendance
+ * it achieves. The score approaches 100 when every attendee is free within
+ * their working hours and nobody's day is fragmented; later slots lose a
+ * little so that the earliest of equally good slots ranks first.
+ */
+public class RankedSlotDTO extends AvailabilitySlotDTO {
+
+    private int requiredAvailable;
+    private int requiredTotal;
+    private int optionalAvailable;
+    private int optionalTotal;
+    private List<String> unavailableParticipants;
+    private List<String> outsideBusinessHours; // Free, but outside their working hours
+
+    public RankedSlotDTO() {
+    }
+
+    public RankedSlotDTO(Instant startTime, Instant endTime, double score) {
+        super(startTime, endTime, score);
+    }
+
+    public int getRequiredAvailable() {
+        return requiredAvailable;
+    }
+
+    public void setRequiredAvailable(int requiredAvailable) {
+        this.requiredAvailable = requiredAvailable;
+    }
+
+    public int getRequiredTotal() {
+        return requiredTotal;
+    }
+
+    public void setRequiredTotal(int requiredTotal) {
+        this.requiredTotal = requiredTotal;
+    }
+
+    public int getOptionalAvailable() {
+        return optionalAvailable;
+    }
+
+    public void setOptionalAvailable(int optionalAvailable) {
+        this.optionalAvailable = optionalAvailable;
+    }
+
+    public int getOptionalTotal() {
+        return optionalTotal;
+    }
+
+    public void setOptionalTotal(int optionalTotal) {
+        this.optionalTotal = optionalTotal;
+    }
+
+    public List<String> getUnavailableParticipants() {
+        return unavailableParticipants;
+    }
+
+    public void setUnavailableParticipants(List<String> unavailableParticipants) {
+        this.unavailableParticipants = unavailableParticipants;
+    }
+
+    public List<String> getOutsideBusinessHours() {
+        return outsideBusinessHours;
+    }
+
+    public void setOutsideBusinessHours(List<String> outsideBusinessHours) {
+        this.outsideBusinessHours = outsideBusinessHours;
+    }
+}
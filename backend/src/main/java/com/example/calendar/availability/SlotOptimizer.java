@@ -0,0 +1,265 @@
+package com.example.calendar.availability;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Ranks candidate meeting slots across many attendees without requiring a
+ * slot that is free for everyone.
+ *
+ * Each attendee's busy time is reduced to sorted, merged intervals and their
+ * working hours to a bitmask over the search range. Candidates are only taken
+ * where at least one required attendee is working (the union of their masks),
+ * skipping nights and weekends a word at a time, and are walked in time order
+ * with one forward-only cursor per attendee, so a search costs at most
+ * O(candidates x attendees). Only the best K slots are kept, in a bounded
+ * min-heap, instead of sorting every candidate.
+ *
+ * A slot's score is the weighted share of attendees who are free (required
+ * count more than optional, and being free outside one's working hours
+ * counts for less), minus a penalty for each attendee left with an unusably
+ * short gap next to an existing meeting, scaled to 0-100.
+ */
+final class SlotOptimizer {
+
+    static final double REQUIRED_WEIGHT = 3.0;
+    static final double OPTIONAL_WEIGHT = 1.0;
+    static final double OUTSIDE_HOURS_FACTOR = 0.4;
+    static final double FRAGMENT_PENALTY = 0.25;
+    static final Duration MIN_USEFUL_GAP = Duration.ofMinutes(30);
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final double EARLINESS_PENALTY_PER_DAY = 0.01;
+
+    // Worst slot at the head: lowest score, then latest start
+    private static final Comparator<RankedSlotDTO> WORST_FIRST = Comparator
+            .comparingDouble(RankedSlotDTO::getScore)
+            .thenComparing(RankedSlotDTO::getStartTime, Comparator.reverseOrder());
+
+    private final long durationMillis;
+    private final long stepMillis;
+    private final int maxResults;
+
+    SlotOptimizer(Duration duration, Duration step, int maxResults) {
+        if (duration.isZero() || duration.isNegative() || step.isZero() || step.isNegative()) {
+            throw new IllegalArgumentException("Duration and step must be positive");
+        }
+        if (step.toMillis() % WorkingHoursProfile.UNIT_MILLIS != 0) {
+            throw new IllegalArgumentException("Step must be a multiple of 15 minutes");
+        }
+        this.durationMillis = duration.toMillis();
+        this.stepMillis = step.toMillis();
+        this.maxResults = Math.max(1, maxResults);
+    }
+
+    /**
+     * One attendee's working hours and busy time as sorted, non-overlapping
+     * intervals (epoch millis)
+     */
+    static final class Attendee {
+        final String email;
+        final boolean required;
+        final WorkingHoursProfile workingHours;
+        final long[] busyStarts;
+        final long[] busyEnds;
+
+        private Attendee(String email, boolean required, WorkingHoursProfile workingHours,
+                         long[] busyStarts, long[] busyEnds) {
+            this.email = email;
+            this.required = required;
+            this.workingHours = workingHours;
+            this.busyStarts = busyStarts;
+            this.busyEnds = busyEnds;
+        }
+
+        static Attendee of(String email, boolean required, WorkingHoursProfile workingHours,
+                           BusyIntervals busy) {
+            return new Attendee(email, required, workingHours, busy.starts, busy.ends);
+        }
+    }
+
+    /**
+     * Rank slots of the configured duration starting every step within the range
+     *
+     * @param attendees Required and optional attendees with their busy time
+     * @param rangeStart Earliest slot start (UTC); rounded up to the step
+     * @param rangeEnd Latest slot end (UTC)
+     * @return Up to maxResults slots, best first
+     */
+    List<RankedSlotDTO> rank(List<Attendee> attendees, Instant rangeStart, Instant rangeEnd) {
+        int requiredTotal = 0;
+        double maxScore = 0;
+        for (Attendee attendee : attendees) {
+            if (attendee.required) {
+                requiredTotal++;
+            }
+            maxScore += weight(attendee);
+        }
+        int optionalTotal = attendees.size() - requiredTotal;
+
+        long first = Math.floorDiv(rangeStart.toEpochMilli() + stepMillis - 1, stepMillis) * stepMillis;
+        long last = rangeEnd.toEpochMilli() - durationMillis;
+        if (last < first) {
+            return new ArrayList<>();
+        }
+
+        // Working hours as bitmasks over [first, last + duration), one bit per 15 minutes
+        int stepUnits = (int) (stepMillis / WorkingHoursProfile.UNIT_MILLIS);
+        int slotUnits = (int) ((durationMillis + WorkingHoursProfile.UNIT_MILLIS - 1) / WorkingHoursProfile.UNIT_MILLIS);
+        int units = (int) ((last - first) / WorkingHoursProfile.UNIT_MILLIS) + slotUnits;
+        long[][] hoursMasks = new long[attendees.size()][];
+        long[] reachable = new long[(units + 63) >>> 6];
+        for (int i = 0; i < attendees.size(); i++) {
+            Attendee attendee = attendees.get(i);
+            hoursMasks[i] = attendee.workingHours.compile(first, units);
+            if (attendee.required || requiredTotal == 0) {
+                for (int w = 0; w < reachable.length; w++) {
+                    reachable[w] |= hoursMasks[i][w];
+                }
+            }
+        }
+
+        int[] cursors = new int[attendees.size()];
+        PriorityQueue<RankedSlotDTO> best = new PriorityQueue<>(maxResults + 1, WORST_FIRST);
+
+        int unit = 0;
+        while (true) {
+            // Jump to the next step that starts while some required attendee is working
+            int next = WorkingHoursProfile.nextSetBit(reachable, unit);
+            if (next < 0) {
+                break;
+            }
+            unit = (next + stepUnits - 1) / stepUnits * stepUnits;
+            long slotStart = first + unit * WorkingHoursProfile.UNIT_MILLIS;
+            if (slotStart > last) {
+                break;
+            }
+            int slotUnit = unit;
+            unit += stepUnits;
+            if (!WorkingHoursProfile.allSet(reachable, slotUnit, slotUnit + slotUnits)) {
+                continue;
+            }
+
+            long slotEnd = slotStart + durationMillis;
+            double raw = 0;
+            int available = 0;
+
+            for (int i = 0; i < attendees.size(); i++) {
+                Attendee attendee = attendees.get(i);
+                int cursor = advance(attendee, cursors[i], slotStart);
+                cursors[i] = cursor;
+                if (!isFree(attendee, cursor, slotEnd)) {
+                    continue;
+                }
+                available++;
+                double weight = weight(attendee);
+                boolean working = WorkingHoursProfile.allSet(hoursMasks[i], slotUnit, slotUnit + slotUnits);
+                raw += working ? weight : weight * OUTSIDE_HOURS_FACTOR;
+                raw -= FRAGMENT_PENALTY * weight * fragments(attendee, cursor, slotStart, slotEnd);
+            }
+            if (available == 0) {
+                continue;
+            }
+
+            double days = (double) (slotStart - first) / MILLIS_PER_DAY;
+            double score = Math.max(0, 100.0 * raw / maxScore - EARLINESS_PENALTY_PER_DAY * days);
+            score = Math.round(score * 100) / 100.0;
+
+            if (best.size() < maxResults || isBetter(score, slotStart, best.peek())) {
+                best.offer(describe(attendees, cursors, hoursMasks, slotUnit, slotUnits,
+                        slotStart, slotEnd, score, requiredTotal, optionalTotal));
+                if (best.size() > maxResults) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<RankedSlotDTO> ranked = new ArrayList<>(best);
+        ranked.sort(WORST_FIRST.reversed());
+        return ranked;
+    }
+
+    private static double weight(Attendee attendee) {
+        return attendee.required ? REQUIRED_WEIGHT : OPTIONAL_WEIGHT;
+    }
+
+    /**
+     * Move the cursor past busy intervals that end at or before the slot start
+     */
+    private static int advance(Attendee attendee, int cursor, long slotStart) {
+        while (cursor < attendee.busyEnds.length && attendee.busyEnds[cursor] <= slotStart) {
+            cursor++;
+        }
+        return cursor;
+    }
+
+    private static boolean isFree(Attendee attendee, int cursor, long slotEnd) {
+        return cursor >= attendee.busyStarts.length || attendee.busyStarts[cursor] >= slotEnd;
+    }
+
+    /**
+     * Number of sides (0-2) on which the slot leaves a gap too short to use
+     * between it and the attendee's neighbouring meetings
+     */
+    private static int fragments(Attendee attendee, int cursor, long slotStart, long slotEnd) {
+        long minGap = MIN_USEFUL_GAP.toMillis();
+        int count = 0;
+        if (cursor > 0) {
+            long gap = slotStart - attendee.busyEnds[cursor - 1];
+            if (gap > 0 && gap < minGap) {
+                count++;
+            }
+        }
+        if (cursor < attendee.busyStarts.length) {
+            long gap = attendee.busyStarts[cursor] - slotEnd;
+            if (gap > 0 && gap < minGap) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isBetter(double score, long slotStart, RankedSlotDTO worst) {
+        int byScore = Double.compare(score, worst.getScore());
+        return byScore > 0 || (byScore == 0 && slotStart < worst.getStartTime().toEpochMilli());
+    }
+
+    /**
+     * Build the result for a slot that made it into the top K
+     */
+    private RankedSlotDTO describe(List<Attendee> attendees, int[] cursors, long[][] hoursMasks,
+                                   int slotUnit, int slotUnits, long slotStart, long slotEnd,
+                                   double score, int requiredTotal, int optionalTotal) {
+        RankedSlotDTO slot = new RankedSlotDTO(Instant.ofEpochMilli(slotStart), Instant.ofEpochMilli(slotEnd), score);
+        int requiredAvailable = 0;
+        int optionalAvailable = 0;
+        List<String> unavailable = new ArrayList<>();
+        List<String> outsideHours = new ArrayList<>();
+        for (int i = 0; i < attendees.size(); i++) {
+            Attendee attendee = attendees.get(i);
+            if (!isFree(attendee, cursors[i], slotEnd)) {
+                unavailable.add(attendee.email);
+                continue;
+            }
+            if (attendee.required) {
+                requiredAvailable++;
+            } else {
+                optionalAvailable++;
+            }
+            if (!WorkingHoursProfile.allSet(hoursMasks[i], slotUnit, slotUnit + slotUnits)) {
+                outsideHours.add(attendee.email);
+            }
+        }
+        slot.setRequiredAvailable(requiredAvailable);
+        slot.setRequiredTotal(requiredTotal);
+        slot.setOptionalAvailable(optionalAvailable);
+        slot.setOptionalTotal(optionalTotal);
+        slot.setUnavailableParticipants(unavailable);
+        slot.setOutsideBusinessHours(outsideHours);
+        return slot;
+    }
+}
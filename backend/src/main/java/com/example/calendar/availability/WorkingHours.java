@@ -0,0 +1,85 @@
+package com.example.calendar.availability;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A user's stored working hours: the weekdays they work, one daily window
+ * in minutes after local midnight, and optionally a timezone that differs
+ * from their profile timezone.
+ */
+@Entity
+@Table(name = "working_hours")
+public class WorkingHours {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
+    private UUID userId;
+
+    @Column(name = "weekday_mask", nullable = false)
+    private Integer weekdayMask;
+
+    @Column(name = "start_minute", nullable = false)
+    private Integer startMinute;
+
+    @Column(name = "end_minute", nullable = false)
+    private Integer endMinute;
+
+    @Column(name = "timezone", length = 50)
+    private String timezone;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public Integer getWeekdayMask() {
+        return weekdayMask;
+    }
+
+    public void setWeekdayMask(Integer weekdayMask) {
+        this.weekdayMask = weekdayMask;
+    }
+
+    public Integer getStartMinute() {
+        return startMinute;
+    }
+
+    public void setStartMinute(Integer startMinute) {
+        this.startMinute = startMinute;
+    }
+
+    public Integer getEndMinute() {
+        return endMinute;
+    }
+
+    public void setEndMinute(Integer endMinute) {
+        this.endMinute = endMinute;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
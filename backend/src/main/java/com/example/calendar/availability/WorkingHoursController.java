@@ -0,0 +1,80 @@
+package com.example.calendar.availability;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.availability.AvailabilityController.ErrorResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the current user's working hours, used by the
+ * availability search to decide which slots are reasonable for each attendee
+ */
+@RestController
+@RequestMapping("/api/v1/availability/working-hours")
+public class WorkingHoursController {
+
+    @Autowired
+    private WorkingHoursService workingHoursService;
+
+    /**
+     * Get the current user's working hours (defaults when none are stored)
+     * GET /api/v1/availability/working-hours
+     */
+    @GetMapping
+    public ResponseEntity<?> getWorkingHours(@AuthenticationPrincipal User user) {
+        if (user == null) {
+            return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse("User not authenticated"));
+        }
+        return ResponseEntity.ok(workingHoursService.getWorkingHours(user));
+    }
+
+    /**
+     * Replace the current user's working hours
+     * PUT /api/v1/availability/working-hours
+     *
+     * Request body:
+     * {
+     *   "days": ["MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY"],
+     *   "start": "08:00",
+     *   "end": "16:30",
+     *   "timezone": "Europe/Berlin"
+     * }
+     */
+    @PutMapping
+    public ResponseEntity<?> updateWorkingHours(
+            @RequestBody WorkingHoursDTO request,
+            @AuthenticationPrincipal User user) {
+        if (user == null) {
+            return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse("User not authenticated"));
+        }
+        try {
+            return ResponseEntity.ok(workingHoursService.updateWorkingHours(user, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                .badRequest()
+                .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Remove the current user's working hours so the defaults apply
+     * DELETE /api/v1/availability/working-hours
+     */
+    @DeleteMapping
+    public ResponseEntity<?> resetWorkingHours(@AuthenticationPrincipal User user) {
+        if (user == null) {
+            return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new ErrorResponse("User not authenticated"));
+        }
+        workingHoursService.resetWorkingHours(user);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.calendar.availability;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO for reading and updating the current user's working hours.
+ * An end at or before the start (e.g. 22:00-06:00) spans midnight; 00:00
+ * as the end means midnight. A null timezone follows the user's profile.
+ */
+public class WorkingHoursDTO {
+
+    private List<DayOfWeek> days;
+    private LocalTime start;
+    private LocalTime end;
+    private String timezone;
+    private boolean custom; // false when the defaults apply
+
+    public WorkingHoursDTO() {
+    }
+
+    public WorkingHoursDTO(List<DayOfWeek> days, LocalTime start, LocalTime end, String timezone, boolean custom) {
+        this.days = days;
+        this.start = start;
+        this.end = end;
+        this.timezone = timezone;
+        this.custom = custom;
+    }
+
+    public List<DayOfWeek> getDays() {
+        return days;
+    }
+
+    public void setDays(List<DayOfWeek> days) {
+        this.days = days;
+    }
+
+    public LocalTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalTime start) {
+        this.start = start;
+    }
+
+    public LocalTime getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalTime end) {
+        this.end = end;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
+    public boolean isCustom() {
+        return custom;
+    }
+
+    public void setCustom(boolean custom) {
+        this.custom = custom;
+    }
+}
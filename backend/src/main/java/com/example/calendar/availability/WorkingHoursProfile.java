@@ -0,0 +1,182 @@
+package com.example.calendar.availability;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+/**
+ * A user's working hours compiled for the slot search.
+ *
+ * The weekly pattern is precompiled once into a bitmask over the local week
+ * (Monday 00:00, one bit per 15 minutes). For a search, compile(origin, units)
+ * maps it onto UTC time from the search origin, so masks of different
+ * attendees line up bit for bit and can be intersected or unioned directly,
+ * and a slot is inside working hours when all of its bits are set.
+ *
+ * Only the four source fields are serialized; the mask is rebuilt on load.
+ */
+public class WorkingHoursProfile {
+
+    public static final int WEEKDAYS = 0b0011111;                  // Monday to Friday
+    public static final int DEFAULT_START_MINUTE = 9 * 60;         // 9 AM
+    public static final int DEFAULT_END_MINUTE = 17 * 60;          // 5 PM
+
+    static final int UNIT_MINUTES = 15;
+    static final long UNIT_MILLIS = UNIT_MINUTES * 60_000L;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int UNITS_PER_DAY = MINUTES_PER_DAY / UNIT_MINUTES;
+    private static final int UNITS_PER_WEEK = 7 * UNITS_PER_DAY;
+    private static final long MONDAY_EPOCH_MINUTE = 4L * MINUTES_PER_DAY; // 1970-01-05
+
+    private final int weekdayMask;
+    private final int startMinute;
+    private final int endMinute;
+    private final String timezone;
+    private final ZoneRules zoneRules;
+    private final long[] weekMask;
+
+    @JsonCreator
+    public WorkingHoursProfile(
+            @JsonProperty("weekdayMask") int weekdayMask,
+            @JsonProperty("startMinute") int startMinute,
+            @JsonProperty("endMinute") int endMinute,
+            @JsonProperty("timezone") String timezone) {
+        this.weekdayMask = weekdayMask;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.timezone = timezone;
+        this.zoneRules = resolveRules(timezone);
+        this.weekMask = compileWeek(weekdayMask, startMinute, endMinute);
+    }
+
+    /**
+     * 09:00-17:00, Monday to Friday, in the given timezone
+     */
+    public static WorkingHoursProfile defaultFor(String timezone) {
+        return new WorkingHoursProfile(WEEKDAYS, DEFAULT_START_MINUTE, DEFAULT_END_MINUTE, timezone);
+    }
+
+    public int getWeekdayMask() {
+        return weekdayMask;
+    }
+
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    public int getEndMinute() {
+        return endMinute;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    /**
+     * Map the weekly pattern onto UTC time: bit i is set when the 15 minutes
+     * starting at origin + i * 15min fall in working hours.
+     *
+     * @param originMillis Search origin (epoch millis), a multiple of 15 minutes
+     * @param units Number of 15-minute units to cover
+     */
+    long[] compile(long originMillis, int units) {
+        long[] mask = new long[(units + 63) >>> 6];
+        for (int i = 0; i < units; i++) {
+            if (isWorking(originMillis + i * UNIT_MILLIS)) {
+                mask[i >>> 6] |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Whether the whole of [start, end) lies in working hours
+     */
+    public boolean covers(Instant start, Instant end) {
+        long unitStart = Math.floorDiv(start.toEpochMilli(), UNIT_MILLIS) * UNIT_MILLIS;
+        for (long t = unitStart; t < end.toEpochMilli(); t += UNIT_MILLIS) {
+            if (!isWorking(t)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isWorking(long millis) {
+        long epochSecond = Math.floorDiv(millis, 1000L);
+        int offset = zoneRules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        long localMinute = Math.floorDiv(epochSecond + offset, 60L);
+        int unit = (int) (Math.floorMod(localMinute - MONDAY_EPOCH_MINUTE, 7L * MINUTES_PER_DAY) / UNIT_MINUTES);
+        return (weekMask[unit >>> 6] & (1L << unit)) != 0;
+    }
+
+    /**
+     * Whether every bit in [from, to) is set
+     */
+    static boolean allSet(long[] mask, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if ((mask[i >>> 6] & (1L << i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Index of the first set bit at or after from, or -1
+     */
+    static int nextSetBit(long[] mask, int from) {
+        int word = from >>> 6;
+        if (word >= mask.length) {
+            return -1;
+        }
+        long bits = mask[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == mask.length) {
+                return -1;
+            }
+            bits = mask[word];
+        }
+    }
+
+    /**
+     * Set the days' window in a local-week mask. A window ending at or
+     * before its start runs past midnight into the next day.
+     */
+    private static long[] compileWeek(int weekdayMask, int startMinute, int endMinute) {
+        long[] mask = new long[(UNITS_PER_WEEK + 63) >>> 6];
+        int startUnit = startMinute / UNIT_MINUTES;
+        int endUnit = endMinute / UNIT_MINUTES;
+        int length = endUnit > startUnit ? endUnit - startUnit : endUnit - startUnit + UNITS_PER_DAY;
+        for (int day = 0; day < 7; day++) {
+            if ((weekdayMask & (1 << day)) == 0) {
+                continue;
+            }
+            for (int i = 0; i < length; i++) {
+                int unit = (day * UNITS_PER_DAY + startUnit + i) % UNITS_PER_WEEK;
+                mask[unit >>> 6] |= 1L << unit;
+            }
+        }
+        return mask;
+    }
+
+    private static ZoneRules resolveRules(String timezone) {
+        if (timezone == null || timezone.isBlank()) {
+            return ZoneOffset.UTC.getRules();
+        }
+        try {
+            return ZoneId.of(timezone).getRules();
+        } catch (DateTimeException e) {
+            return ZoneOffset.UTC.getRules();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.calendar.availability;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface WorkingHoursRepository extends JpaRepository<WorkingHours, UUID> {
+}
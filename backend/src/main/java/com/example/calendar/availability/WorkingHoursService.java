@@ -0,0 +1,132 @@
+package com.example.calendar.availability;
+
+import com.example.calendar.auth.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for users' working hours.
+ * Compiled profiles are cached per user; the key includes the profile
+ * timezone so changing it in the user profile is picked up immediately.
+ */
+@Service
+public class WorkingHoursService {
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    /**
+     * Get the compiled working hours for a user, or the defaults when none are stored
+     *
+     * @param user The user
+     * @return Working hours in the stored timezone, else the user's timezone
+     */
+    @Cacheable(value = "workingHours", key = "#user.id + ':' + #user.timezone")
+    @Transactional(readOnly = true)
+    public WorkingHoursProfile getProfile(User user) {
+        return workingHoursRepository.findById(user.getId())
+            .map(hours -> new WorkingHoursProfile(
+                hours.getWeekdayMask(),
+                hours.getStartMinute(),
+                hours.getEndMinute(),
+                hours.getTimezone() != null ? hours.getTimezone() : user.getTimezone()))
+            .orElseGet(() -> WorkingHoursProfile.defaultFor(user.getTimezone()));
+    }
+
+    /**
+     * Get the user's working hours for display
+     */
+    @Transactional(readOnly = true)
+    public WorkingHoursDTO getWorkingHours(User user) {
+        return workingHoursRepository.findById(user.getId())
+            .map(hours -> toDTO(hours.getWeekdayMask(), hours.getStartMinute(), hours.getEndMinute(),
+                hours.getTimezone(), true))
+            .orElseGet(() -> toDTO(WorkingHoursProfile.WEEKDAYS, WorkingHoursProfile.DEFAULT_START_MINUTE,
+                WorkingHoursProfile.DEFAULT_END_MINUTE, null, false));
+    }
+
+    /**
+     * Store the user's working hours
+     *
+     * @throws IllegalArgumentException if days are missing, times are not on a
+     *         15-minute boundary or the timezone is unknown
+     */
+    @CacheEvict(value = "workingHours", key = "#user.id + ':' + #user.timezone")
+    @Transactional
+    public WorkingHoursDTO updateWorkingHours(User user, WorkingHoursDTO request) {
+        if (request.getDays() == null || request.getDays().isEmpty()) {
+            throw new IllegalArgumentException("At least one working day is required");
+        }
+        if (request.getStart() == null || request.getEnd() == null) {
+            throw new IllegalArgumentException("Start and end times are required");
+        }
+        int startMinute = toMinute(request.getStart());
+        int endMinute = toMinute(request.getEnd());
+        String timezone = request.getTimezone() == null || request.getTimezone().isBlank()
+            ? null : request.getTimezone();
+        if (timezone != null) {
+            try {
+                ZoneId.of(timezone);
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Unknown timezone: " + timezone);
+            }
+        }
+
+        int weekdayMask = 0;
+        for (DayOfWeek day : request.getDays()) {
+            weekdayMask |= 1 << (day.getValue() - 1);
+        }
+
+        WorkingHours hours = workingHoursRepository.findById(user.getId()).orElseGet(() -> {
+            WorkingHours created = new WorkingHours();
+            created.setUserId(user.getId());
+            return created;
+        });
+        hours.setWeekdayMask(weekdayMask);
+        hours.setStartMinute(startMinute);
+        hours.setEndMinute(endMinute);
+        hours.setTimezone(timezone);
+        workingHoursRepository.save(hours);
+
+        return toDTO(weekdayMask, startMinute, endMinute, timezone, true);
+    }
+
+    /**
+     * Remove the user's stored working hours so the defaults apply again
+     */
+    @CacheEvict(value = "workingHours", key = "#user.id + ':' + #user.timezone")
+    @Transactional
+    public void resetWorkingHours(User user) {
+        if (workingHoursRepository.existsById(user.getId())) {
+            workingHoursRepository.deleteById(user.getId());
+        }
+    }
+
+    private int toMinute(LocalTime time) {
+        if (time.getSecond() != 0 || time.getNano() != 0 || time.getMinute() % WorkingHoursProfile.UNIT_MINUTES != 0) {
+            throw new IllegalArgumentException("Working hours must be on a 15-minute boundary");
+        }
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private WorkingHoursDTO toDTO(int weekdayMask, int startMinute, int endMinute, String timezone, boolean custom) {
+        List<DayOfWeek> days = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((weekdayMask & (1 << (day.getValue() - 1))) != 0) {
+                days.add(day);
+            }
+        }
+        return new WorkingHoursDTO(days, LocalTime.of(startMinute / 60, startMinute % 60),
+            LocalTime.of(endMinute / 60 % 24, endMinute % 60), timezone, custom);
+    }
+}
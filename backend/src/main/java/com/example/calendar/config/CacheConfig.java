@@ -1,9 +1,9 @@
 package com.example.calendar.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -18,11 +18,16 @@ import java.time.Duration;
 /**
  * Cache configuration with Redis support (optional).
  * Falls back to in-memory cache if Redis is disabled or unavailable.
+ * Both managers keep hit/miss statistics, which Spring Boot's cache metrics
+ * publish per cache (cache.gets{result=hit|miss}).
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${app.datasource.replica.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
     /**
      * Redis-based cache manager (enabled via feature flag).
      * Activated when: app.cache.redis.enabled=true
@@ -42,12 +47,23 @@ public class CacheConfig {
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .enableStatistics()
                 .withCacheConfiguration("events", 
                         config.entryTtl(Duration.ofMinutes(15))) // Events cache: 15 min TTL
                 .withCacheConfiguration("invitations", 
                         config.entryTtl(Duration.ofMinutes(10))) // Invitations: 10 min TTL
                 .withCacheConfiguration("availability", 
                         config.entryTtl(Duration.ofMinutes(5))) // Availability: 5 min TTL (more volatile)
+                .withCacheConfiguration("eventAccess", 
+                        config.entryTtl(Duration.ofMinutes(30))) // Access decisions: positive-only, 30 min TTL
+                .withCacheConfiguration("changeVersions", 
+                        config.entryTtl(Duration.ofDays(1))) // ETag versions: replaced on change, expiry only costs a 200
+                .withCacheConfiguration("workingHours", 
+                        config.entryTtl(Duration.ofHours(12))) // Working hours: evicted on change
+                .withCacheConfiguration("collaborators", 
+                        config.entryTtl(Duration.ofHours(1))) // Top collaborators: evicted when the user invites
+                .withCacheConfiguration("readYourWrites", 
+                        config.entryTtl(Duration.ofMillis(readYourWritesMs))) // Last write per user: only needed for the window
                 .build();
     }
 
@@ -58,11 +74,25 @@ public class CacheConfig {
     @Bean
     @ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "false", matchIfMissing = true)
     public CacheManager inMemoryCacheManager() {
-        return new ConcurrentMapCacheManager(
+        return new StatisticsConcurrentMapCacheManager(
                 "events", 
                 "invitations", 
-                "availability"
+                "availability",
+                "eventAccess",
+                "changeVersions",
+                "workingHours",
+                "collaborators",
+                "readYourWrites"
         );
     }
 
+    /**
+     * Lets Spring Boot's cache metrics bind the in-memory caches
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public StatisticsConcurrentMapCacheManager.MeterBinderProvider inMemoryCacheMeterBinderProvider() {
+        return new StatisticsConcurrentMapCacheManager.MeterBinderProvider();
+    }
+
 }
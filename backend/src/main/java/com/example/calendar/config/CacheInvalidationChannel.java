@@ -0,0 +1,26 @@
+package com.example.calendar.config;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Carries second-level cache invalidations between application nodes.
+ * Each node's Hibernate cache is local, so an entity written on one node
+ * must be evicted on the others. The local implementation is for a single
+ * node, where Hibernate already keeps its own cache current; the Redis one
+ * publishes on a pub/sub channel. Selected with app.cache.l2.invalidation.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * Tell the other nodes that an entity was inserted, updated or deleted
+     * @param entityName Hibernate entity name
+     * @param id Entity identifier, as its string form
+     */
+    void publish(String entityName, String id);
+
+    /**
+     * Register the handler for invalidations published by other nodes
+     * @param handler Receives the entity name and identifier
+     */
+    void subscribe(BiConsumer<String, String> handler);
+}
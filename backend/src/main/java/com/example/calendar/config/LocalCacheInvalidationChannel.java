@@ -0,0 +1,17 @@
+package com.example.calendar.config;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Single-node stand-in: there are no other caches to invalidate
+ */
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    @Override
+    public void publish(String entityName, String id) {
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, String> handler) {
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.calendar.config;
 
+import com.example.calendar.shared.CalendarMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -9,7 +12,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Rate limiting configuration using in-memory token bucket
@@ -17,10 +20,23 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Configuration
 public class RateLimitConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private CalendarMetrics calendarMetrics;
+
+    /**
+     * Shared with controllers that charge extra tokens for expensive requests
+     */
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor() {
+        return new RateLimitInterceptor(calendarMetrics);
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RateLimitInterceptor())
-                .addPathPatterns("/api/v1/availability/**"); // Rate limit availability endpoint
+        registry.addInterceptor(rateLimitInterceptor())
+                .addPathPatterns("/api/v1/availability/**") // Rate limit availability endpoint
+                // Type-ahead, one call per keystroke: charged by the controller only when it hits the database
+                .excludePathPatterns("/api/v1/availability/collaborators/search");
     }
 
     /**
@@ -34,15 +50,18 @@ public class RateLimitConfig implements WebMvcConfigurer {
         // Storage for request counts per IP
         private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
         
+        private final CalendarMetrics calendarMetrics;
+        
         // Cleanup thread to remove old entries
-        public RateLimitInterceptor() {
+        public RateLimitInterceptor(CalendarMetrics calendarMetrics) {
+            this.calendarMetrics = calendarMetrics;
             Thread cleanupThread = new Thread(() -> {
                 while (true) {
                     try {
                         Thread.sleep(60000); // Every minute
                         long now = System.currentTimeMillis();
                         buckets.entrySet().removeIf(entry -> 
-                            now - entry.getValue().lastRefill > 120000); // Remove after 2 minutes of inactivity
+                            now - entry.getValue().getLastRefill() > 120000); // Remove after 2 minutes of inactivity
                     } catch (InterruptedException e) {
                         Thread.currentThread().interrupt();
                         break;
@@ -57,17 +76,31 @@ public class RateLimitConfig implements WebMvcConfigurer {
         public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
                 throws Exception {
             
+            if (!tryConsume(request, response, 1)) {
+                response.getWriter().write("{\"error\":\"Rate limit exceeded. Please try again later.\"}");
+                response.setContentType("application/json");
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Charge tokens to the client's bucket, e.g. for requests whose cost depends on
+         * their body. Sets the rate limit headers; when the client is over its limit,
+         * also the 429 status and Retry-After, leaving the body to the caller.
+         * @return whether the request may proceed
+         */
+        public boolean tryConsume(HttpServletRequest request, HttpServletResponse response, int tokens) {
             String clientIp = getClientIp(request);
             TokenBucket bucket = buckets.computeIfAbsent(clientIp, k -> new TokenBucket());
             
-            if (!bucket.tryConsume()) {
+            if (!bucket.tryConsume(tokens)) {
+                calendarMetrics.recordRateLimitRejection();
                 response.setStatus(429); // Too Many Requests
                 response.setHeader("X-RateLimit-Limit", String.valueOf(MAX_REQUESTS_PER_MINUTE));
                 response.setHeader("X-RateLimit-Remaining", "0");
                 response.setHeader("X-RateLimit-Reset", String.valueOf(bucket.getResetTime()));
                 response.setHeader("Retry-After", "60");
-                response.getWriter().write("{\"error\":\"Rate limit exceeded. Please try again later.\"}");
-                response.setContentType("application/json");
                 return false;
             }
             
@@ -87,38 +120,51 @@ public class RateLimitConfig implements WebMvcConfigurer {
         }
 
         /**
-         * Token bucket for rate limiting
+         * Token bucket for rate limiting.
+         * Lock-free: the window start and remaining tokens are swapped atomically,
+         * so concurrent requests never block on a monitor (which would pin
+         * virtual threads to their carrier).
          */
         private static class TokenBucket {
-            private final AtomicInteger tokens = new AtomicInteger(MAX_REQUESTS_PER_MINUTE);
-            private volatile long lastRefill = System.currentTimeMillis();
-
-            public synchronized boolean tryConsume() {
-                refill();
-                if (tokens.get() > 0) {
-                    tokens.decrementAndGet();
-                    return true;
+            private final AtomicReference<Window> window =
+                    new AtomicReference<>(new Window(System.currentTimeMillis(), MAX_REQUESTS_PER_MINUTE));
+
+            public boolean tryConsume(int count) {
+                while (true) {
+                    Window current = refill();
+                    if (current.tokens < count) {
+                        return false;
+                    }
+                    if (window.compareAndSet(current, new Window(current.start, current.tokens - count))) {
+                        return true;
+                    }
                 }
-                return false;
             }
 
             public int getRemaining() {
-                refill();
-                return tokens.get();
+                return refill().tokens;
+            }
+
+            public long getLastRefill() {
+                return window.get().start;
             }
 
             public long getResetTime() {
-                return lastRefill + 60000; // Next refill time
+                return window.get().start + 60000; // Next refill time
             }
 
-            private void refill() {
+            private Window refill() {
                 long now = System.currentTimeMillis();
-                long timePassed = now - lastRefill;
-                
-                if (timePassed >= 60000) { // Refill every minute
-                    tokens.set(MAX_REQUESTS_PER_MINUTE);
-                    lastRefill = now;
+                Window current = window.get();
+                if (now - current.start >= 60000) { // Refill every minute
+                    Window refilled = new Window(now, MAX_REQUESTS_PER_MINUTE);
+                    // If another request refilled first, use its window
+                    current = window.compareAndSet(current, refilled) ? refilled : window.get();
                 }
+                return current;
+            }
+
+            private record Window(long start, int tokens) {
             }
         }
     }
@@ -0,0 +1,83 @@
+package com.example.calendar.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Read replica routing (enabled by setting app.datasource.replica.url).
+ * The primary pool keeps the spring.datasource.* settings; read-only
+ * transactions use the replica pool instead, see {@link ReadReplicaRoutingDataSource}.
+ * Without a replica URL, Boot's single datasource is used as before.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.url:}'.isEmpty()")
+public class ReadReplicaConfig {
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.maximum-pool-size:20}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replica.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername)
+                .password(replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replicaPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(CacheManager cacheManager) {
+        return new ReadYourWritesTracker(cacheManager, Duration.ofMillis(readYourWritesMs), Clock.systemUTC());
+    }
+
+    /**
+     * The datasource JPA, Flyway and JDBC use. Connections are only fetched on
+     * the first statement, once the transaction's read-only flag is set.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesTracker tracker) {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, replica, tracker);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.calendar.config;
+
+import com.example.calendar.auth.User;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and
+ * everything else to the primary.
+ *
+ * A signed-in user who had a write committed within the read-your-writes
+ * window ({@link ReadYourWritesTracker}) reads from the primary, so they never
+ * see their calendar without a change they just made or were just notified
+ * of. Work without a signed-in user (scheduled jobs, login) reads from the
+ * replica whenever its transaction is read-only; code that must see rows
+ * committed moments ago uses a read-write transaction instead (see
+ * UserRepository#findByIdOnPrimary).
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag of a
+ * transaction is only known after the transaction manager has begun it.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    // Transaction resource marking that this transaction's write is already tracked
+    private static final Object WRITE_TRACKED = new Object();
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return user != null && tracker.wroteRecently(user) ? Route.PRIMARY : Route.REPLICA;
+        }
+        if (user != null) {
+            trackWrite(user);
+        }
+        return Route.PRIMARY;
+    }
+
+    /**
+     * Start the user's read-your-writes window once the current transaction commits
+     */
+    private void trackWrite(String user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+                if (status == STATUS_COMMITTED) {
+                    tracker.recordWrite(user);
+                }
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user && user.getEmail() != null) {
+            return user.getEmail().toLowerCase();
+        }
+        return null;
+    }
+}
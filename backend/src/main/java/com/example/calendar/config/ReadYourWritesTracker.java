@@ -0,0 +1,79 @@
+package com.example.calendar.config;
+
+import com.example.calendar.shared.CalendarChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Remembers when each user (keyed by lowercased email) last had a write
+ * committed, so their reads can stay on the primary until the replica has
+ * caught up with it.
+ *
+ * Write times live in the "readYourWrites" cache, next to the change versions,
+ * so with Redis enabled every node sees them: a user whose next request lands
+ * on another node still reads from the primary. Redis expires entries after
+ * the window; the timestamp check keeps the in-memory cache correct too.
+ *
+ * A calendar change opens the window for everyone it affects, not only the
+ * writer: their change version is replaced at the same time, and a read from
+ * a lagging replica would otherwise be cached under the new version.
+ */
+public class ReadYourWritesTracker {
+
+    static final String CACHE_NAME = "readYourWrites";
+
+    private final CacheManager cacheManager;
+    private final long windowMillis;
+    private final Clock clock;
+
+    public ReadYourWritesTracker(CacheManager cacheManager, Duration window, Clock clock) {
+        this.cacheManager = cacheManager;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Record that the user's write has just committed
+     * @param user Lowercased email
+     */
+    public void recordWrite(String user) {
+        writes().put(user, clock.millis());
+    }
+
+    /**
+     * Open the window for every user whose calendar a committed change touched.
+     * Runs before change notifications go out, so notified clients read from the primary.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        for (String email : event.getEmails()) {
+            recordWrite(email);
+        }
+    }
+
+    /**
+     * Whether a write of the user committed within the window
+     * @param user Lowercased email
+     */
+    public boolean wroteRecently(String user) {
+        Cache.ValueWrapper writtenAt = writes().get(user);
+        // Read back as a Number: JSON-serialized values may not come back as Long
+        return writtenAt != null && writtenAt.get() instanceof Number millis
+                && clock.millis() - millis.longValue() < windowMillis;
+    }
+
+    private Cache writes() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + CACHE_NAME + "' is not configured");
+        }
+        return cache;
+    }
+}
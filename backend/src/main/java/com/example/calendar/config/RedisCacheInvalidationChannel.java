@@ -0,0 +1,115 @@
+package com.example.calendar.config;
+
+import com.example.calendar.shared.CalendarMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Multi-node invalidation over Redis pub/sub.
+ * Every node publishes the entities it commits to one channel and evicts
+ * those published by the other nodes; its own messages are ignored.
+ */
+public class RedisCacheInvalidationChannel implements CacheInvalidationChannel, MessageListener {
+
+    static final String CHANNEL = "calendar:l2-invalidations";
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisCacheInvalidationChannel.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final CalendarMetrics calendarMetrics;
+    private volatile BiConsumer<String, String> handler = (entityName, id) -> { };
+
+    public RedisCacheInvalidationChannel(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                         CalendarMetrics calendarMetrics) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.calendarMetrics = calendarMetrics;
+    }
+
+    @Override
+    public void publish(String entityName, String id) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(new Envelope(nodeId, entityName, id)));
+            calendarMetrics.recordCacheInvalidation(false);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize cache invalidation", e);
+        } catch (RuntimeException e) {
+            // The other nodes' entries still expire with their region's TTL
+            logger.warn("Failed to publish cache invalidation for {}#{}: {}", entityName, id, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, String> handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), Envelope.class);
+            if (nodeId.equals(envelope.getNode())) {
+                return;
+            }
+            calendarMetrics.recordCacheInvalidation(true);
+            handler.accept(envelope.getEntity(), envelope.getId());
+        } catch (IOException e) {
+            logger.warn("Ignoring malformed cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wire format of an invalidation on the channel
+     */
+    static class Envelope {
+        private String node;
+        private String entity;
+        private String id;
+
+        public Envelope() {
+        }
+
+        Envelope(String node, String entity, String id) {
+            this.node = node;
+            this.entity = entity;
+            this.id = id;
+        }
+
+        public String getNode() {
+            return node;
+        }
+
+        public void setNode(String node) {
+            this.node = node;
+        }
+
+        public String getEntity() {
+            return entity;
+        }
+
+        public void setEntity(String entity) {
+            this.entity = entity;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.calendar.config;
+
+import com.example.calendar.shared.CalendarMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Hibernate second-level cache invalidation across nodes.
+ * Regions and their bounds are configured in ehcache.xml. Uses the local
+ * stand-in unless app.cache.l2.invalidation=redis, which is needed as soon
+ * as more than one backend node writes to the database.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.l2.invalidation", havingValue = "local", matchIfMissing = true)
+    public CacheInvalidationChannel localCacheInvalidationChannel() {
+        return new LocalCacheInvalidationChannel();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.l2.invalidation", havingValue = "redis")
+    public RedisCacheInvalidationChannel redisCacheInvalidationChannel(StringRedisTemplate redisTemplate,
+                                                                       ObjectMapper objectMapper,
+                                                                       CalendarMetrics calendarMetrics) {
+        return new RedisCacheInvalidationChannel(redisTemplate, objectMapper, calendarMetrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.l2.invalidation", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, RedisCacheInvalidationChannel channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(channel, new ChannelTopic(RedisCacheInvalidationChannel.CHANNEL));
+        return container;
+    }
+
+    /**
+     * Publish committed changes to cached entities and evict those received
+     * from other nodes
+     */
+    @Bean
+    public SecondLevelCacheInvalidator secondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                                   CacheInvalidationChannel channel) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        SecondLevelCacheInvalidator invalidator = new SecondLevelCacheInvalidator(sessionFactory, channel);
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, invalidator);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, invalidator);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, invalidator);
+        channel.subscribe(invalidator::evict);
+        return invalidator;
+    }
+}
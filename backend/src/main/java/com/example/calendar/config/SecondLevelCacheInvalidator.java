@@ -0,0 +1,95 @@
+package com.example.calendar.config;
+
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the second-level cache of the other nodes consistent with this one.
+ *
+ * After a transaction commits, every cached entity it inserted, updated or
+ * deleted is published on the {@link CacheInvalidationChannel}. For each
+ * invalidation received from another node the entity is evicted, along with
+ * its natural-id entries and the cached query results (query results are
+ * only invalidated by table timestamps on the node that wrote the table).
+ */
+public class SecondLevelCacheInvalidator implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheInvalidator.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationChannel channel;
+
+    public SecondLevelCacheInvalidator(SessionFactoryImplementor sessionFactory, CacheInvalidationChannel channel) {
+        this.sessionFactory = sessionFactory;
+        this.channel = channel;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /**
+     * Evict an entity another node changed
+     * @param entityName Hibernate entity name
+     * @param id Entity identifier, as its string form
+     */
+    public void evict(String entityName, String id) {
+        Cache cache = sessionFactory.getCache();
+        try {
+            EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityName);
+            cache.evictEntityData(entityName, persister.getIdentifierMapping().getJavaType().fromString(id));
+            if (persister.hasNaturalIdentifier()) {
+                cache.evictNaturalIdData(entityName);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Evicting all of {} after a bad invalidation ({}): {}", entityName, id, e.getMessage());
+            cache.evictEntityData(entityName);
+            cache.evictNaturalIdData(entityName);
+        }
+        cache.evictQueryRegions();
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            channel.publish(persister.getEntityName(), String.valueOf(id));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.calendar.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory cache manager whose caches keep hit, miss and put counts, the way
+ * RedisCacheManager does with statistics enabled. Spring Boot's cache metrics
+ * bind them through {@link MeterBinderProvider}, so both managers publish the
+ * same cache.gets / cache.puts meters.
+ */
+public class StatisticsConcurrentMapCacheManager extends ConcurrentMapCacheManager {
+
+    public StatisticsConcurrentMapCacheManager(String... cacheNames) {
+        super(cacheNames);
+    }
+
+    @Override
+    protected ConcurrentMapCache createConcurrentMapCache(String name) {
+        return new StatisticsCache(name, isAllowNullValues());
+    }
+
+    /**
+     * ConcurrentMapCache counting lookups and writes
+     */
+    static class StatisticsCache extends ConcurrentMapCache {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+
+        StatisticsCache(String name, boolean allowNullValues) {
+            super(name, allowNullValues);
+        }
+
+        @Override
+        protected Object lookup(Object key) {
+            Object value = super.lookup(key);
+            (value != null ? hits : misses).increment();
+            return value;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            super.put(key, value);
+            puts.increment();
+        }
+    }
+
+    /**
+     * Binds {@link StatisticsCache} instances for Spring Boot's cache metrics
+     */
+    static class MeterBinderProvider implements CacheMeterBinderProvider<StatisticsCache> {
+
+        @Override
+        public MeterBinder getMeterBinder(StatisticsCache cache, Iterable<Tag> tags) {
+            return new CacheMeterBinder<>(cache, cache.getName(), tags) {
+                @Override
+                protected Long size() {
+                    return (long) cache.getNativeCache().size();
+                }
+
+                @Override
+                protected long hitCount() {
+                    return cache.hits.sum();
+                }
+
+                @Override
+                protected Long missCount() {
+                    return cache.misses.sum();
+                }
+
+                @Override
+                protected Long evictionCount() {
+                    return null;
+                }
+
+                @Override
+                protected long putCount() {
+                    return cache.puts.sum();
+                }
+
+                @Override
+                protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+                }
+            };
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.calendar.config;
 
+import com.example.calendar.availability.AvailabilityTraceInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -30,6 +37,9 @@ public class WebConfig implements WebMvcConfigurer {
     
     @Value("${cors.max-age:3600}")
     private long maxAge;
+    
+    @Autowired
+    private AvailabilityTraceInterceptor availabilityTraceInterceptor;
 
     /**
      * Configure view controllers for default redirects
@@ -42,6 +52,16 @@ public class WebConfig implements WebMvcConfigurer {
         registry.setOrder(Ordered.HIGHEST_PRECEDENCE);
     }
     
+    /**
+     * Enable per-request availability tracing on the availability endpoints
+     * @param registry the interceptor registry
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(availabilityTraceInterceptor)
+                .addPathPatterns("/api/v1/availability", "/api/v1/availability/**");
+    }
+    
     /**
      * Configure CORS for cross-origin requests
      * @param registry the CORS registry
@@ -52,7 +72,7 @@ public class WebConfig implements WebMvcConfigurer {
             .allowedOrigins(allowedOrigins)
             .allowedMethods(allowedMethods)
             .allowedHeaders("*")
-            .exposedHeaders("Authorization", "Content-Type", "X-Rate-Limit-Remaining", "X-Rate-Limit-Reset")
+            .exposedHeaders("Authorization", "Content-Type", "X-Rate-Limit-Remaining", "X-Rate-Limit-Reset", "X-Next-Cursor")
             .allowCredentials(true)
             .maxAge(maxAge);
     }
@@ -84,7 +104,7 @@ public class WebConfig implements WebMvcConfigurer {
         config.setAllowedMethods(Arrays.asList(allowedMethods));
         config.setAllowCredentials(true);
         config.setAllowedHeaders(Collections.singletonList("*"));
-        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Rate-Limit-Remaining", "X-Rate-Limit-Reset"));
+        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "X-Rate-Limit-Remaining", "X-Rate-Limit-Reset", "X-Next-Cursor"));
         config.setMaxAge(maxAge);
         
         final UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -93,6 +113,19 @@ public class WebConfig implements WebMvcConfigurer {
         return new CorsFilter(source);
     }
     
+    /**
+     * Offer CBOR (application/cbor) as a binary alternative to JSON on every
+     * endpoint that returns a body through message conversion. Built from the
+     * application's Jackson settings so both formats carry the same fields.
+     * @param builder the Jackson builder configured by Spring Boot
+     * @return the CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        return new MappingJackson2CborHttpMessageConverter(cborMapper);
+    }
+    
     // GlobalExceptionHandler is configured via @RestControllerAdvice annotation
     // No need to create a bean here
 }
\ No newline at end of file
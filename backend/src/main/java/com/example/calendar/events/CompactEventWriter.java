@@ -0,0 +1,116 @@
+package com.example.calendar.events;
+
+import com.example.calendar.auth.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streaming writer for the compact event list used by calendar grids.
+ *
+ * Events are written straight from entities with only the fields a grid
+ * shows, times as epoch milliseconds and the organizer as an index into an
+ * "organizers" table written after the events, so a user who organizes
+ * hundreds of events is serialized once:
+ *
+ * {"events":[{"id":"..","title":"..","start":1704103200000,"end":1704106800000,
+ *   "organizer":0,"location":"..","recurring":true,"video":true,"invited":true}],
+ *  "organizers":[{"id":"..","email":"..","name":".."}],"nextCursor":".."}
+ *
+ * Optional members are omitted rather than written as null or false.
+ */
+public class CompactEventWriter {
+
+    public static final String MEDIA_TYPE = "application/vnd.calendar.compact+json";
+
+    private final JsonGenerator generator;
+    private final UUID viewerId;
+    private final Map<UUID, Integer> organizerIndex = new HashMap<>();
+    private final List<User> organizers = new ArrayList<>();
+    private int written;
+
+    /**
+     * @param generator Generator to write to
+     * @param viewerId The user the list is for; events they do not organize are marked invited
+     */
+    public CompactEventWriter(JsonGenerator generator, UUID viewerId) {
+        this.generator = generator;
+        this.viewerId = viewerId;
+    }
+
+    /**
+     * Open the top-level object and the events array
+     */
+    public void writeStart() throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("events");
+    }
+
+    /**
+     * Write one event
+     * @param event The event to write (organizer must be loaded)
+     */
+    public void writeEvent(Event event) throws IOException {
+        User organizer = event.getOrganizer();
+        generator.writeStartObject();
+        generator.writeStringField("id", event.getId().toString());
+        generator.writeStringField("title", event.getTitle());
+        generator.writeNumberField("start", event.getStartDateTime().toEpochMilli());
+        generator.writeNumberField("end", event.getEndDateTime().toEpochMilli());
+        generator.writeNumberField("organizer", organizerRef(organizer));
+        if (event.getLocation() != null && !event.getLocation().isEmpty()) {
+            generator.writeStringField("location", event.getLocation());
+        }
+        if (event.getRecurrenceRule() != null && !event.getRecurrenceRule().isEmpty()) {
+            generator.writeBooleanField("recurring", true);
+        }
+        if (event.getVideoConferenceLink() != null && !event.getVideoConferenceLink().isEmpty()) {
+            generator.writeBooleanField("video", true);
+        }
+        if (!organizer.getId().equals(viewerId)) {
+            generator.writeBooleanField("invited", true);
+        }
+        generator.writeEndObject();
+        written++;
+    }
+
+    /**
+     * Close the events array, write the organizer table and close the object
+     * @param nextCursor Cursor for the next page, or null when there is none
+     */
+    public void writeEnd(String nextCursor) throws IOException {
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("organizers");
+        for (User organizer : organizers) {
+            generator.writeStartObject();
+            generator.writeStringField("id", organizer.getId().toString());
+            generator.writeStringField("email", organizer.getEmail());
+            generator.writeStringField("name", organizer.getDisplayName());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        if (nextCursor != null) {
+            generator.writeStringField("nextCursor", nextCursor);
+        }
+        generator.writeEndObject();
+    }
+
+    public int getWritten() {
+        return written;
+    }
+
+    private int organizerRef(User organizer) {
+        Integer ref = organizerIndex.get(organizer.getId());
+        if (ref == null) {
+            ref = organizers.size();
+            organizerIndex.put(organizer.getId(), ref);
+            organizers.add(organizer);
+        }
+        return ref;
+    }
+}
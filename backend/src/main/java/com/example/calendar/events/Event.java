@@ -11,7 +11,8 @@ import java.util.UUID;
 @Table(name = "events", indexes = {
     @Index(name = "idx_organizer_start", columnList = "organizer_id, start_date_time"),
     @Index(name = "idx_start_date", columnList = "start_date_time"),
-    @Index(name = "idx_end_date", columnList = "end_date_time")
+    @Index(name = "idx_end_date", columnList = "end_date_time"),
+    @Index(name = "idx_organizer_updated", columnList = "organizer_id, updated_at")
 })
 public class Event {
 
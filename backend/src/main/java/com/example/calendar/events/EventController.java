@@ -1,14 +1,32 @@
 package com.example.calendar.events;
 
 import com.example.calendar.auth.User;
+import com.example.calendar.shared.ChangeVersionService;
+import com.example.calendar.shared.KeysetCursor;
+import com.example.calendar.shared.StreamAbortedException;
+import com.example.calendar.shared.SyncToken;
+import com.example.calendar.shared.TimeUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
@@ -18,12 +36,35 @@ import java.util.UUID;
 @RequestMapping("/api/v1/events")
 public class EventController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String CBOR_MEDIA_TYPE = "application/cbor";
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
     /**
      * List events within a date range
      * GET /api/v1/events?start=2023-01-01T00:00:00Z&end=2023-12-31T23:59:59Z&includeInvitations=true
+     * 
+     * Without a range, limit/cursor select one page of all events ordered by start time;
+     * the cursor for the next page is returned in the X-Next-Cursor header.
+     * A matching If-None-Match returns 304 before any events are read.
+     * 
+     * With view=compact or "Accept: application/vnd.calendar.compact+json" the
+     * list is streamed in the compact grid format (see {@link CompactEventWriter});
+     * the next cursor is then returned in the body, as headers may already be sent.
+     * "Accept: application/cbor" selects CBOR for either representation.
      */
     @GetMapping
     public ResponseEntity<List<EventDTO>> listEvents(
@@ -32,9 +73,14 @@ public class EventController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week,
             @RequestParam(required = false, defaultValue = "false") boolean includeInvitations,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) String viewerTimezone,
+            @RequestParam(required = false) String view,
             @RequestHeader(value = "X-User-Timezone", required = false) String viewerTimezoneHeader,
-            @AuthenticationPrincipal User user) {
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @AuthenticationPrincipal User user,
+            ServletWebRequest webRequest) throws IOException {
 
         // For testing purposes - use a default test user if no authentication
         if (user == null) {
@@ -47,7 +93,23 @@ public class EventController {
     // Log timezone resolution for debugging
     System.out.println("LIST events - query param: " + viewerTimezone + ", header: " + viewerTimezoneHeader + ", effective: " + effectiveTimezone);
 
+        boolean compact = "compact".equals(view)
+                || (accept != null && accept.contains(CompactEventWriter.MEDIA_TYPE));
+        boolean cbor = accept != null && accept.contains(CBOR_MEDIA_TYPE);
+        String etag = changeVersionService.etag(user.getEmail(), "events", start, end, day, week,
+                includeInvitations, limit, cursor, effectiveTimezone, compact, cbor);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        if (compact) {
+            writeCompactEvents(user, start, end, day, week, includeInvitations, limit, cursor,
+                    effectiveTimezone, cbor, webRequest.getResponse());
+            return null;
+        }
+
         List<EventDTO> events;
+        String nextCursor = null;
 
         if (day != null) {
             // Get events for a specific day
@@ -58,24 +120,197 @@ public class EventController {
         } else if (start != null && end != null) {
             // Get events within a date range
             events = eventService.getEventsByDateRange(user, start, end, includeInvitations, effectiveTimezone);
+        } else if (limit != null || cursor != null) {
+            // Get one page of all events
+            int pageSize = Math.min(Math.max(limit != null ? limit : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+            KeysetCursor keyset = cursor != null ? KeysetCursor.decode(cursor) : null;
+            // Read one extra row to learn whether another page follows
+            events = eventService.getEventsPage(user, includeInvitations, keyset, pageSize + 1, effectiveTimezone);
+            if (events.size() > pageSize) {
+                events = events.subList(0, pageSize);
+                EventDTO last = events.get(pageSize - 1);
+                nextCursor = new KeysetCursor(last.getStartDateTime(), last.getId()).encode();
+            }
         } else {
             // Get all events
             events = eventService.getAllEvents(user, includeInvitations, effectiveTimezone);
         }
 
-        return ResponseEntity.ok(events);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(events);
+    }
+
+    /**
+     * Write the compact event list straight from entities; paging works as in
+     * listEvents, without a range or page every event is streamed
+     */
+    private void writeCompactEvents(User user, Instant start, Instant end, LocalDate day, LocalDate week,
+                                    boolean includeInvitations, Integer limit, String cursor,
+                                    String timezone, boolean cbor, HttpServletResponse response) throws IOException {
+        if (day != null) {
+            start = TimeUtils.getStartOfDay(day, timezone);
+            end = TimeUtils.getEndOfDay(day, timezone);
+        } else if (week != null) {
+            Instant[] boundaries = TimeUtils.getWeekBoundaries(week, timezone);
+            start = boundaries[0];
+            end = boundaries[1];
+        } else if (start == null || end == null) {
+            start = null;
+            end = null;
+        }
+        boolean paged = start == null && (limit != null || cursor != null);
+        int pageSize = Math.min(Math.max(limit != null ? limit : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+        KeysetCursor keyset = paged && cursor != null ? KeysetCursor.decode(cursor) : null;
+
+        if (cbor) {
+            response.setContentType(CBOR_MEDIA_TYPE);
+        } else {
+            response.setContentType(CompactEventWriter.MEDIA_TYPE);
+            response.setCharacterEncoding("UTF-8");
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+
+        JsonFactory factory = cbor ? CBOR_FACTORY : objectMapper.getFactory();
+        // Closed only on success: closing after a failure would complete the document
+        // and present a truncated list as a whole one
+        JsonGenerator generator = factory.createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try {
+            CompactEventWriter writer = new CompactEventWriter(generator, user.getId());
+            writer.writeStart();
+            // Read one extra row when paging to learn whether another page follows
+            Event[] last = new Event[1];
+            boolean[] more = {false};
+            eventService.forEachVisibleEvent(user, includeInvitations, start, end, keyset,
+                    paged ? pageSize + 1 : null, event -> {
+                if (paged && writer.getWritten() == pageSize) {
+                    more[0] = true;
+                    return;
+                }
+                try {
+                    writer.writeEvent(event);
+                    if (writer.getWritten() % STREAM_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                last[0] = event;
+            });
+            String nextCursor = more[0]
+                    ? new KeysetCursor(last[0].getStartDateTime(), last[0].getId()).encode()
+                    : null;
+            writer.writeEnd(nextCursor);
+        } catch (IOException | RuntimeException e) {
+            // Before the first flush the error handler can still send a proper error
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+                throw e;
+            }
+            throw new StreamAbortedException(e);
+        }
+        generator.close();
+    }
+
+    /**
+     * Stream all events as newline-delimited JSON (one EventDTO per line)
+     * GET /api/v1/events/stream?includeInvitations=true
+     * 
+     * Rows are written as they are read from the database, so heap use stays
+     * bounded regardless of how many events the calendar holds.
+     */
+    @GetMapping(value = "/stream", produces = NDJSON_MEDIA_TYPE)
+    public void streamEvents(
+            @RequestParam(required = false, defaultValue = "false") boolean includeInvitations,
+            @RequestParam(required = false) String viewerTimezone,
+            @RequestHeader(value = "X-User-Timezone", required = false) String viewerTimezoneHeader,
+            @AuthenticationPrincipal User user,
+            HttpServletResponse response) throws IOException {
+
+        if (user == null) {
+            user = eventService.getTestUser();
+        }
+
+        String requestedTimezone = viewerTimezone != null ? viewerTimezone : viewerTimezoneHeader;
+        String effectiveTimezone = eventService.resolveViewerTimezone(requestedTimezone, user);
+
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+
+        OutputStream out = response.getOutputStream();
+        int[] written = {0};
+        try (SequenceWriter writer = objectMapper.writerFor(EventDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            eventService.streamAllEvents(user, includeInvitations, effectiveTimezone, dto -> {
+                try {
+                    writer.write(dto);
+                    if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        // Terminate the last record; an empty calendar is an empty body
+        if (written[0] > 0) {
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Delta sync of the user's events
+     * GET /api/v1/events/sync?token=...&includeInvitations=true
+     * 
+     * Without a token the whole calendar is returned (fullSync=true). With a token,
+     * only events created or updated since it and the IDs of removed events are returned,
+     * along with the token for the next call. A token older than the tombstone
+     * retention window is rejected with 410 Gone; the client should then sync from scratch.
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<?> syncEvents(
+            @RequestParam(required = false) String token,
+            @RequestParam(required = false, defaultValue = "false") boolean includeInvitations,
+            @RequestParam(required = false) String viewerTimezone,
+            @RequestHeader(value = "X-User-Timezone", required = false) String viewerTimezoneHeader,
+            @AuthenticationPrincipal User user) {
+
+        if (user == null) {
+            user = eventService.getTestUser();
+        }
+
+        String requestedTimezone = viewerTimezone != null ? viewerTimezone : viewerTimezoneHeader;
+        String effectiveTimezone = eventService.resolveViewerTimezone(requestedTimezone, user);
+
+        SyncToken syncToken = token != null ? SyncToken.decode(token) : null;
+        if (syncToken != null && eventService.isSyncTokenExpired(syncToken)) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(new ErrorResponse("Sync token expired, a full sync is required"));
+        }
+
+        return ResponseEntity.ok(eventService.syncEvents(user, includeInvitations, syncToken, effectiveTimezone));
     }
 
     /**
      * Get a single event by ID
      * GET /api/v1/events/{eventId}
+     * 
+     * A matching If-None-Match returns 304 before the event is read.
      */
     @GetMapping("/{eventId}")
     public ResponseEntity<EventDTO> getEvent(
             @PathVariable UUID eventId,
         @RequestParam(required = false) String viewerTimezone,
         @RequestHeader(value = "X-User-Timezone", required = false) String viewerTimezoneHeader,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User user,
+            ServletWebRequest webRequest) {
         
         // For testing purposes - use a default test user if no authentication
         if (user == null) {
@@ -88,9 +323,14 @@ public class EventController {
     // Log timezone resolution for debugging
     System.out.println("GET event " + eventId + " - query param: " + viewerTimezone + ", header: " + viewerTimezoneHeader + ", effective: " + effectiveTimezone);
     
+        String etag = changeVersionService.etag(user.getEmail(), "event", eventId, effectiveTimezone);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+    
         EventDTO event = eventService.getEventById(eventId, user, effectiveTimezone);
         System.out.println("GET event " + eventId + " - returned viewerTimezone: " + event.getViewerTimezone());
-        return ResponseEntity.ok(event);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(event);
     }
 
     /**
@@ -6,13 +6,16 @@ import com.example.calendar.invitations.InvitationDTO;
 import com.example.calendar.invitations.InvitationMapper;
 import com.example.calendar.invitations.InvitationService;
 import com.example.calendar.invitations.InvitationSummaryDTO;
+import com.example.calendar.shared.ChangeVersionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -33,6 +36,9 @@ public class EventInvitationsController {
     @Autowired
     private InvitationMapper invitationMapper;
     
+    @Autowired
+    private ChangeVersionService changeVersionService;
+    
     /**
      * Get all invitations for a specific event
      * GET /api/v1/events/{eventId}/invitations
@@ -63,18 +69,28 @@ public class EventInvitationsController {
     /**
      * Get invitation response summary for an event
      * GET /api/v1/events/{eventId}/invitations/summary
+     * 
+     * A matching If-None-Match returns 304 before the invitations are counted.
      */
     @GetMapping("/{eventId}/invitations/summary")
     public ResponseEntity<?> getEventInvitationSummary(
             @PathVariable UUID eventId,
-            @AuthenticationPrincipal User user) {
+            @AuthenticationPrincipal User user,
+            ServletWebRequest webRequest) {
         
         String userEmail = (user != null) ? user.getEmail() : "anonymous";
         logger.info("Get invitation summary for event {}, user={}", eventId, userEmail);
         
+        if (user != null) {
+            String etag = changeVersionService.etag(user.getEmail(), "invitationSummary", eventId);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+        }
+        
         try {
             InvitationSummaryDTO summary = invitationService.getEventInvitationSummary(eventId, user);
-            return ResponseEntity.ok(summary);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(summary);
             
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid request: {}", e.getMessage());
@@ -1,17 +1,60 @@
 package com.example.calendar.events;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID> {
     
+    /**
+     * Events the user attends through an accepted invitation but does not organize,
+     * reached from the user's invitations through the (recipient_email, status) index
+     */
+    String ACCEPTED_BY_USER = "FROM Invitation i JOIN i.event e JOIN FETCH e.organizer " +
+            "WHERE i.recipientEmail = :email " +
+            "AND i.status = com.example.calendar.invitations.InvitationStatus.ACCEPTED " +
+            "AND e.organizer.id <> :userId ";
+    
+    String AFTER_CURSOR = "AND (e.startDateTime > :cursorStart OR (e.startDateTime = :cursorStart AND e.id > :cursorId)) ";
+    
+    String BY_START = "ORDER BY e.startDateTime ASC, e.id ASC";
+    
+    /**
+     * Stand-ins for a missing range bound: the limits of the TIMESTAMP columns,
+     * so open ranges still use plain comparisons the start index can seek on
+     */
+    Instant RANGE_MIN = Instant.ofEpochSecond(1);
+    Instant RANGE_MAX = Instant.ofEpochSecond(Integer.MAX_VALUE);
+    
+    /**
+     * Fetch size that makes MySQL Connector/J stream rows one at a time instead
+     * of buffering the whole result set; set per query so other statements keep
+     * the driver defaults. A streaming result set must be the only one open on
+     * its connection until it is closed.
+     */
+    int STREAM_FETCH_SIZE = Integer.MIN_VALUE;
+    
+    /**
+     * Start and end of one event that keeps a user (by email) busy
+     */
+    interface BusyRow {
+        String getEmail();
+        Instant getStartDateTime();
+        Instant getEndDateTime();
+    }
+    
     @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id = :organizerId " +
            "AND e.startDateTime < :end AND e.endDateTime > :start " +
            "ORDER BY e.startDateTime ASC")
@@ -21,10 +64,200 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
         @Param("end") Instant end
     );
 
+    /**
+     * Events overlapping the range that the user attends through an accepted invitation
+     * but does not organize, ordered by start time
+     */
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id <> :userId " +
+           "AND e.startDateTime < :end AND e.endDateTime > :start " +
+           "AND EXISTS (SELECT i.id FROM Invitation i WHERE i.event = e AND i.recipientEmail = :email " +
+           "AND i.status = com.example.calendar.invitations.InvitationStatus.ACCEPTED) " +
+           "ORDER BY e.startDateTime ASC")
+    List<Event> findAcceptedInvitationsInRange(
+        @Param("userId") UUID userId,
+        @Param("email") String email,
+        @Param("start") Instant start,
+        @Param("end") Instant end
+    );
+
+    /**
+     * Busy times of many organizers at once, without loading the events themselves
+     */
+    @Query("SELECT o.email AS email, e.startDateTime AS startDateTime, e.endDateTime AS endDateTime " +
+           "FROM Event e JOIN e.organizer o WHERE o.id IN :organizerIds " +
+           "AND e.startDateTime < :end AND e.endDateTime > :start")
+    List<BusyRow> findOrganizedBusyInRange(
+        @Param("organizerIds") Collection<UUID> organizerIds,
+        @Param("start") Instant start,
+        @Param("end") Instant end
+    );
+    
+    /**
+     * Busy times from accepted invitations of many recipients at once. Events a
+     * recipient also organizes come back twice; coalescing makes that harmless.
+     */
+    @Query("SELECT i.recipientEmail AS email, e.startDateTime AS startDateTime, e.endDateTime AS endDateTime " +
+           "FROM Invitation i JOIN i.event e WHERE i.recipientEmail IN :emails " +
+           "AND i.status = com.example.calendar.invitations.InvitationStatus.ACCEPTED " +
+           "AND e.startDateTime < :end AND e.endDateTime > :start")
+    List<BusyRow> findAcceptedBusyInRange(
+        @Param("emails") Collection<String> emails,
+        @Param("start") Instant start,
+        @Param("end") Instant end
+    );
+
     @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id = :organizerId " +
            "ORDER BY e.startDateTime ASC")
     List<Event> findByOrganizerId(@Param("organizerId") UUID organizerId);
     
     @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.id = :id")
     java.util.Optional<Event> findByIdWithOrganizer(@Param("id") UUID id);
+    
+    /**
+     * Events visible to a user that overlap the given range, ordered by (startDateTime, id).
+     * Organized and accepted events are read by two indexed queries and merged;
+     * one query with an OR across both sources would scan every user's events.
+     */
+    default List<Event> findVisibleInRange(UUID userId, String email, boolean includeInvitations,
+                                           Instant start, Instant end) {
+        List<Event> organized = findOrganizedBetween(userId, start, end);
+        return includeInvitations
+                ? VisibleEvents.merge(organized, findAcceptedBetween(userId, email, start, end), Integer.MAX_VALUE)
+                : organized;
+    }
+    
+    /**
+     * All events visible to a user, ordered by (startDateTime, id)
+     */
+    default List<Event> findAllVisible(UUID userId, String email, boolean includeInvitations) {
+        return findVisibleInRange(userId, email, includeInvitations, RANGE_MIN, RANGE_MAX);
+    }
+    
+    /**
+     * First page of the events visible to a user, ordered by (startDateTime, id)
+     */
+    default List<Event> findVisiblePage(UUID userId, String email, boolean includeInvitations, Pageable pageable) {
+        List<Event> organized = findOrganizedPage(userId, pageable);
+        return includeInvitations
+                ? VisibleEvents.merge(organized, findAcceptedPage(userId, email, pageable), pageable.getPageSize())
+                : organized;
+    }
+    
+    /**
+     * Next page of the events visible to a user after the (startDateTime, id) keyset cursor
+     */
+    default List<Event> findVisiblePageAfter(UUID userId, String email, boolean includeInvitations,
+                                             Instant cursorStart, UUID cursorId, Pageable pageable) {
+        List<Event> organized = findOrganizedPageAfter(userId, cursorStart, cursorId, pageable);
+        return includeInvitations
+                ? VisibleEvents.merge(organized,
+                        findAcceptedPageAfter(userId, email, cursorStart, cursorId, pageable), pageable.getPageSize())
+                : organized;
+    }
+    
+    /**
+     * Stream every event visible to a user, ordered by (startDateTime, id).
+     * The organized events are streamed row by row; the accepted ones are read
+     * first, since the driver allows no other statement while a streaming result
+     * set is open. Must be consumed inside a transaction, without issuing other
+     * queries until the stream is closed.
+     */
+    default Stream<Event> streamVisible(UUID userId, String email, boolean includeInvitations) {
+        return streamVisibleInRange(userId, email, includeInvitations, null, null);
+    }
+    
+    /**
+     * Stream the events visible to a user that overlap an optional range, ordered by (startDateTime, id).
+     * Streamed like {@link #streamVisible}; must be consumed inside a transaction.
+     * @param start Range start, or null for no lower bound
+     * @param end Range end, or null for no upper bound
+     */
+    default Stream<Event> streamVisibleInRange(UUID userId, String email, boolean includeInvitations,
+                                               Instant start, Instant end) {
+        Instant from = start != null ? start : RANGE_MIN;
+        Instant to = end != null ? end : RANGE_MAX;
+        if (!includeInvitations) {
+            return streamOrganizedBetween(userId, from, to);
+        }
+        List<Event> accepted = findAcceptedBetween(userId, email, from, to);
+        return VisibleEvents.merge(streamOrganizedBetween(userId, from, to), accepted.stream());
+    }
+    
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id = :userId " +
+           "AND e.startDateTime < :end AND e.endDateTime > :start " + BY_START)
+    List<Event> findOrganizedBetween(
+        @Param("userId") UUID userId,
+        @Param("start") Instant start,
+        @Param("end") Instant end
+    );
+    
+    @Query("SELECT e " + ACCEPTED_BY_USER + "AND e.startDateTime < :end AND e.endDateTime > :start " + BY_START)
+    List<Event> findAcceptedBetween(
+        @Param("userId") UUID userId,
+        @Param("email") String email,
+        @Param("start") Instant start,
+        @Param("end") Instant end
+    );
+    
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id = :userId " + BY_START)
+    List<Event> findOrganizedPage(@Param("userId") UUID userId, Pageable pageable);
+    
+    @Query("SELECT e " + ACCEPTED_BY_USER + BY_START)
+    List<Event> findAcceptedPage(@Param("userId") UUID userId, @Param("email") String email, Pageable pageable);
+    
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id = :userId " + AFTER_CURSOR + BY_START)
+    List<Event> findOrganizedPageAfter(
+        @Param("userId") UUID userId,
+        @Param("cursorStart") Instant cursorStart,
+        @Param("cursorId") UUID cursorId,
+        Pageable pageable
+    );
+    
+    @Query("SELECT e " + ACCEPTED_BY_USER + AFTER_CURSOR + BY_START)
+    List<Event> findAcceptedPageAfter(
+        @Param("userId") UUID userId,
+        @Param("email") String email,
+        @Param("cursorStart") Instant cursorStart,
+        @Param("cursorId") UUID cursorId,
+        Pageable pageable
+    );
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id = :userId " +
+           "AND e.startDateTime < :end AND e.endDateTime > :start " + BY_START)
+    Stream<Event> streamOrganizedBetween(
+        @Param("userId") UUID userId,
+        @Param("start") Instant start,
+        @Param("end") Instant end
+    );
+    
+    /**
+     * Events the user organizes that were created or updated since an instant,
+     * served from the (organizer_id, updated_at) index
+     */
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id = :userId " +
+           "AND e.updatedAt >= :since ORDER BY e.updatedAt ASC, e.id ASC")
+    List<Event> findOrganizedChangedSince(
+        @Param("userId") UUID userId,
+        @Param("since") Instant since
+    );
+    
+    /**
+     * Events the user attends through an accepted invitation where either the
+     * invitation or the event changed since an instant. Only the user's own
+     * accepted invitations are joined, found through the recipient_email indexes.
+     */
+    @Query("SELECT e FROM Event e JOIN FETCH e.organizer WHERE e.organizer.id <> :userId " +
+           "AND EXISTS (SELECT i.id FROM Invitation i WHERE i.event = e AND i.recipientEmail = :email " +
+           "AND i.status = com.example.calendar.invitations.InvitationStatus.ACCEPTED " +
+           "AND (i.updatedAt >= :since OR e.updatedAt >= :since)) " +
+           "ORDER BY e.updatedAt ASC, e.id ASC")
+    List<Event> findAcceptedChangedSince(
+        @Param("userId") UUID userId,
+        @Param("email") String email,
+        @Param("since") Instant since
+    );
 }
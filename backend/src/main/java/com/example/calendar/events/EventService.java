@@ -2,31 +2,53 @@ package com.example.calendar.events;
 
 import com.example.calendar.auth.User;
 import com.example.calendar.auth.UserRepository;
+import com.example.calendar.invitations.CollaboratorCountRepository;
 import com.example.calendar.invitations.EmailService;
 import com.example.calendar.invitations.Invitation;
 import com.example.calendar.invitations.InvitationRepository;
+import com.example.calendar.invitations.InvitationService;
 import com.example.calendar.invitations.InvitationStatus;
+import com.example.calendar.shared.CalendarChangedEvent;
+import com.example.calendar.shared.CalendarMetrics;
+import com.example.calendar.shared.KeysetCursor;
+import com.example.calendar.shared.SyncToken;
 import com.example.calendar.shared.TimeUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EventService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventService.class);
 
+    // Next sync token watermark is set this far before "now" to cover in-flight commits
+    static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+
     @Autowired
     private EventRepository eventRepository;
 
@@ -35,6 +57,12 @@ public class EventService {
 
     @Autowired
     private InvitationRepository invitationRepository;
+
+    @Autowired
+    private CollaboratorCountRepository collaboratorCountRepository;
+    
+    @Autowired
+    private InvitationService invitationService;
     
     @Autowired
     private EmailService emailService;
@@ -45,6 +73,21 @@ public class EventService {
     @Autowired
     private VideoConferenceService videoConferenceService;
     
+    @Autowired
+    private EventTombstoneRepository eventTombstoneRepository;
+    
+    @Autowired
+    private CalendarMetrics calendarMetrics;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Get events for a user within a date range
      * @param user The authenticated user
@@ -78,33 +121,20 @@ public class EventService {
      * @return List of EventDTOs with localized fields populated
      */
     @Cacheable(value = "events", key = "#user.id + '_' + #start + '_' + #end + '_' + #includeInvitations + '_' + (#viewerTimezone == null ? 'null' : #viewerTimezone)")
+    @Transactional(readOnly = true)
     public List<EventDTO> getEventsByDateRange(User user, Instant start, Instant end, boolean includeInvitations, String viewerTimezone) {
         String effectiveTimezone = sanitizeTimezone(viewerTimezone, user != null ? user.getTimezone() : null);
 
-        List<EventDTO> organizedEvents = eventRepository.findByOrganizerAndDateRange(user.getId(), start, end)
+        long startNanos = calendarMetrics.tick();
+
+        // One ordered query covers organized and accepted events, so no re-sort or de-duplication is needed
+        List<EventDTO> events = eventRepository.findVisibleInRange(user.getId(), user.getEmail().toLowerCase(),
+                        includeInvitations, start, end)
                 .stream()
                 .map(event -> mapToViewer(event, effectiveTimezone))
                 .collect(Collectors.toList());
-
-        if (includeInvitations) {
-            List<EventDTO> invitedEvents = invitationRepository.findByRecipientEmailAndStatus(
-                    user.getEmail().toLowerCase(), InvitationStatus.ACCEPTED)
-                    .stream()
-                    .map(Invitation::getEvent)
-                    .filter(event -> {
-                        Instant eventStart = event.getStartDateTime();
-                        Instant eventEnd = event.getEndDateTime();
-                        return (start == null || eventEnd.isAfter(start)) &&
-                               (end == null || eventStart.isBefore(end));
-                    })
-                    .map(event -> mapToViewer(event, effectiveTimezone))
-                    .collect(Collectors.toList());
-
-            organizedEvents.addAll(invitedEvents);
-        }
-
-        organizedEvents.sort(Comparator.comparing(EventDTO::getStartDateTime));
-        return organizedEvents;
+        calendarMetrics.recordEventQuery(CalendarMetrics.EventQuery.RANGE, startNanos);
+        return events;
     }
 
     /**
@@ -181,27 +211,167 @@ public class EventService {
         return getAllEvents(user, includeInvitations, user != null ? user.getTimezone() : null);
     }
 
+    @Transactional(readOnly = true)
     public List<EventDTO> getAllEvents(User user, boolean includeInvitations, String viewerTimezone) {
         String effectiveTimezone = sanitizeTimezone(viewerTimezone, user != null ? user.getTimezone() : null);
 
-        List<EventDTO> result = eventRepository.findByOrganizerId(user.getId())
+        long startNanos = calendarMetrics.tick();
+
+        List<EventDTO> events = eventRepository.findAllVisible(user.getId(), user.getEmail().toLowerCase(), includeInvitations)
                 .stream()
                 .map(event -> mapToViewer(event, effectiveTimezone))
                 .collect(Collectors.toList());
+        calendarMetrics.recordEventQuery(CalendarMetrics.EventQuery.ALL, startNanos);
+        return events;
+    }
 
-        if (includeInvitations) {
-            List<EventDTO> invitedEvents = invitationRepository.findByRecipientEmailAndStatus(
-                    user.getEmail().toLowerCase(), InvitationStatus.ACCEPTED)
+    /**
+     * Get one page of a user's events ordered by start time, using keyset pagination
+     * @param user The authenticated user
+     * @param includeInvitations Whether to include events where the user is an invitee
+     * @param cursor Keyset cursor from the previous page (null for the first page)
+     * @param limit Maximum number of events to return
+     * @param viewerTimezone Optional timezone to localize event start/end times for the viewer
+     * @return List of EventDTOs on the requested page
+     */
+    @Transactional(readOnly = true)
+    public List<EventDTO> getEventsPage(User user, boolean includeInvitations, KeysetCursor cursor, int limit, String viewerTimezone) {
+        String effectiveTimezone = sanitizeTimezone(viewerTimezone, user != null ? user.getTimezone() : null);
+        Pageable page = PageRequest.ofSize(limit);
+        String email = user.getEmail().toLowerCase();
+        long startNanos = calendarMetrics.tick();
+
+        List<Event> events = cursor == null
+                ? eventRepository.findVisiblePage(user.getId(), email, includeInvitations, page)
+                : eventRepository.findVisiblePageAfter(user.getId(), email, includeInvitations,
+                        cursor.getInstant(), cursor.getId(), page);
+
+        List<EventDTO> result = events.stream()
+                .map(event -> mapToViewer(event, effectiveTimezone))
+                .collect(Collectors.toList());
+        calendarMetrics.recordEventQuery(CalendarMetrics.EventQuery.PAGE, startNanos);
+        return result;
+    }
+
+    /**
+     * Stream all of a user's events ordered by start time.
+     * Rows are mapped and handed to the consumer one at a time and detached
+     * afterwards, so memory use does not grow with the size of the calendar.
+     * @param user The authenticated user
+     * @param includeInvitations Whether to include events where the user is an invitee
+     * @param viewerTimezone Optional timezone to localize event start/end times for the viewer
+     * @param consumer Receives each EventDTO in order
+     */
+    @Transactional(readOnly = true)
+    public void streamAllEvents(User user, boolean includeInvitations, String viewerTimezone, Consumer<EventDTO> consumer) {
+        String effectiveTimezone = sanitizeTimezone(viewerTimezone, user != null ? user.getTimezone() : null);
+
+        try (Stream<Event> events = eventRepository.streamVisible(
+                user.getId(), user.getEmail().toLowerCase(), includeInvitations)) {
+            events.forEach(event -> {
+                consumer.accept(mapToViewer(event, effectiveTimezone));
+                entityManager.detach(event);
+            });
+        }
+    }
+
+    /**
+     * Hand a user's events to the consumer as entities, ordered by start time,
+     * for writers that serialize them without building DTOs.
+     * With a limit, one keyset page of all events is read (pass limit + 1 to
+     * learn whether another page follows); otherwise the events overlapping
+     * the optional range are streamed and detached one at a time.
+     * @param user The authenticated user
+     * @param includeInvitations Whether to include events where the user is an invitee
+     * @param start Optional range start (UTC); ignored when paging
+     * @param end Optional range end (UTC); ignored when paging
+     * @param cursor Keyset cursor from the previous page (null for the first page)
+     * @param limit Page size, or null to read the whole range
+     * @param consumer Receives each Event (organizer loaded) in order
+     */
+    @Transactional(readOnly = true)
+    public void forEachVisibleEvent(User user, boolean includeInvitations, Instant start, Instant end,
+                                    KeysetCursor cursor, Integer limit, Consumer<Event> consumer) {
+        String email = user.getEmail().toLowerCase();
+        long startNanos = calendarMetrics.tick();
+
+        if (limit != null) {
+            Pageable page = PageRequest.ofSize(limit);
+            List<Event> events = cursor == null
+                    ? eventRepository.findVisiblePage(user.getId(), email, includeInvitations, page)
+                    : eventRepository.findVisiblePageAfter(user.getId(), email, includeInvitations,
+                            cursor.getInstant(), cursor.getId(), page);
+            events.forEach(consumer);
+            calendarMetrics.recordEventQuery(CalendarMetrics.EventQuery.PAGE, startNanos);
+            return;
+        }
+
+        try (Stream<Event> events = eventRepository.streamVisibleInRange(
+                user.getId(), email, includeInvitations, start, end)) {
+            events.forEach(event -> {
+                consumer.accept(event);
+                entityManager.detach(event);
+            });
+        }
+        calendarMetrics.recordEventQuery(start != null ? CalendarMetrics.EventQuery.RANGE : CalendarMetrics.EventQuery.ALL,
+                startNanos);
+    }
+
+    /**
+     * Get the events changed or removed since a sync token.
+     * Without a token the whole calendar is returned as a full sync.
+     * @param user The authenticated user
+     * @param includeInvitations Whether to include events where the user is an invitee
+     * @param token Token from the previous sync (null for a full sync)
+     * @param viewerTimezone Optional timezone to localize event start/end times for the viewer
+     * @return Changed events, removed event IDs and the next sync token
+     */
+    @Transactional(readOnly = true)
+    public EventSyncDTO syncEvents(User user, boolean includeInvitations, SyncToken token, String viewerTimezone) {
+        String effectiveTimezone = sanitizeTimezone(viewerTimezone, user != null ? user.getTimezone() : null);
+        String email = user.getEmail().toLowerCase();
+        String nextToken = new SyncToken(Instant.now().minus(SYNC_OVERLAP)).encode();
+        long startNanos = calendarMetrics.tick();
+
+        if (token == null) {
+            List<EventDTO> events = eventRepository.findAllVisible(user.getId(), email, includeInvitations)
                     .stream()
-                    .map(Invitation::getEvent)
                     .map(event -> mapToViewer(event, effectiveTimezone))
                     .collect(Collectors.toList());
+            calendarMetrics.recordEventQuery(CalendarMetrics.EventQuery.SYNC, startNanos);
+            return new EventSyncDTO(events, List.of(), nextToken, true);
+        }
 
-            result.addAll(invitedEvents);
+        Instant since = token.getWatermark();
+        Map<UUID, Event> changed = new LinkedHashMap<>();
+        for (Event event : eventRepository.findOrganizedChangedSince(user.getId(), since)) {
+            changed.put(event.getId(), event);
+        }
+        Set<UUID> deleted = new LinkedHashSet<>(eventTombstoneRepository.findDeletedEventIdsSince(
+                user.getId(), email, includeInvitations, since));
+        if (includeInvitations) {
+            for (Event event : eventRepository.findAcceptedChangedSince(user.getId(), email, since)) {
+                changed.putIfAbsent(event.getId(), event);
+            }
+            deleted.addAll(invitationRepository.findWithdrawnEventIdsSince(user.getId(), email, since));
         }
+        deleted.removeAll(changed.keySet());
 
-        result.sort(Comparator.comparing(EventDTO::getStartDateTime));
-        return result;
+        List<EventDTO> events = changed.values().stream()
+                .map(event -> mapToViewer(event, effectiveTimezone))
+                .collect(Collectors.toList());
+        calendarMetrics.recordEventQuery(CalendarMetrics.EventQuery.SYNC, startNanos);
+        return new EventSyncDTO(events, new ArrayList<>(deleted), nextToken, false);
+    }
+
+    /**
+     * Whether a sync token predates the tombstone retention window, in which
+     * case deletions may have been purged and the client must do a full sync
+     * @param token Token from the previous sync
+     * @return true if the token can no longer be used
+     */
+    public boolean isSyncTokenExpired(SyncToken token) {
+        return token.getWatermark().isBefore(Instant.now().minus(Duration.ofDays(tombstoneRetentionDays)));
     }
 
     /**
@@ -216,16 +386,14 @@ public class EventService {
         return getEventById(eventId, user, user != null ? user.getTimezone() : null);
     }
 
+    @Transactional(readOnly = true)
     public EventDTO getEventById(UUID eventId, User user, String viewerTimezone) {
         Event event = eventRepository.findByIdWithOrganizer(eventId)
                 .orElseThrow(() -> new java.util.NoSuchElementException("Event not found"));
 
         boolean isOrganizer = event.getOrganizer().getId().equals(user.getId());
 
-        boolean isInvited = invitationRepository.findByEventId(eventId).stream()
-                .anyMatch(inv -> inv.getRecipientEmail().equalsIgnoreCase(user.getEmail()));
-
-        if (!isOrganizer && !isInvited) {
+        if (!isOrganizer && !invitationService.isEventRecipient(eventId, user.getEmail())) {
             throw new IllegalStateException("Not authorized to access this event");
         }
 
@@ -279,6 +447,9 @@ public class EventService {
         }
         
         // Create invitations for all participants
+        List<String> affected = new ArrayList<>();
+        affected.add(user.getEmail());
+        Instant invitedAt = Instant.now();
         if (eventDTO.getParticipants() != null && !eventDTO.getParticipants().isEmpty()) {
             for (String participantEmail : eventDTO.getParticipants()) {
                 // Validate email format (basic validation)
@@ -291,12 +462,17 @@ public class EventService {
                 invitation.setRecipientEmail(participantEmail.toLowerCase().trim());
                 invitation.setStatus(InvitationStatus.PENDING);
                 Invitation savedInvitation = invitationRepository.save(invitation);
+                affected.add(savedInvitation.getRecipientEmail());
+                collaboratorCountRepository.recordInvitation(user.getId(), savedInvitation.getRecipientEmail(), invitedAt);
                 
                 // Send invitation email (log-only in MVP)
                 emailService.sendInvitationEmail(savedInvitation);
             }
         }
         
+        eventPublisher.publishEvent(new CalendarChangedEvent(
+                CalendarChangedEvent.Change.EVENT_CREATED, savedEvent.getId(), affected,
+                savedEvent.getStartDateTime(), savedEvent.getEndDateTime()));
         return mapToViewer(savedEvent, organizerTimezone);
     }
 
@@ -316,6 +492,9 @@ public class EventService {
             throw new IllegalStateException("Not authorized to update this event");
         }
         
+        Instant previousStart = existingEvent.getStartDateTime();
+        Instant previousEnd = existingEvent.getEndDateTime();
+        
         // Update fields
         existingEvent.setTitle(eventDTO.getTitle());
         existingEvent.setDescription(eventDTO.getDescription());
@@ -345,6 +524,14 @@ public class EventService {
         }
         
         Event savedEvent = eventRepository.save(existingEvent);
+        
+        List<String> affected = new ArrayList<>(invitationRepository.findRecipientEmailsByEventId(eventId));
+        affected.add(user.getEmail());
+        eventPublisher.publishEvent(new CalendarChangedEvent(
+                CalendarChangedEvent.Change.EVENT_UPDATED, eventId, affected,
+                TimeUtils.earlier(previousStart, savedEvent.getStartDateTime()),
+                TimeUtils.later(previousEnd, savedEvent.getEndDateTime())));
+        
         String viewerTimezone = sanitizeTimezone(null, user != null ? user.getTimezone() : null);
         return mapToViewer(savedEvent, viewerTimezone);
     }
@@ -418,6 +605,17 @@ public class EventService {
         // Find all invitations for this event
         List<Invitation> invitations = invitationRepository.findByEventId(event.getId());
         
+        // Record the deletion for delta sync, for the organizer and every recipient
+        List<EventTombstone> tombstones = new ArrayList<>(invitations.size() + 1);
+        tombstones.add(new EventTombstone(event.getId(), user.getId(), null));
+        for (Invitation invitation : invitations) {
+            if (invitation.getRecipientEmail() != null) {
+                tombstones.add(new EventTombstone(event.getId(), user.getId(),
+                        invitation.getRecipientEmail().toLowerCase()));
+            }
+        }
+        eventTombstoneRepository.saveAll(tombstones);
+        
         // Update all invitations to CANCELLED status
         for (Invitation invitation : invitations) {
             invitation.setStatus(InvitationStatus.CANCELLED);
@@ -468,6 +666,15 @@ public class EventService {
         
         // Delete the event after notifying everyone
         eventRepository.delete(event);
+        
+        List<String> affected = new ArrayList<>(tombstones.size());
+        affected.add(user.getEmail());
+        for (EventTombstone tombstone : tombstones) {
+            affected.add(tombstone.getRecipientEmail());
+        }
+        eventPublisher.publishEvent(new CalendarChangedEvent(
+                CalendarChangedEvent.Change.EVENT_DELETED, eventId, affected,
+                event.getStartDateTime(), event.getEndDateTime()));
     }
     
     /**
@@ -0,0 +1,60 @@
+package com.example.calendar.events;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a delta sync: events created or updated since the sync token,
+ * IDs of events removed from the user's calendar, and the token for the next sync.
+ * When fullSync is true, events holds the whole calendar and the client should
+ * replace its local copy.
+ */
+public class EventSyncDTO {
+
+    private List<EventDTO> events;
+    private List<UUID> deleted;
+    private String syncToken;
+    private boolean fullSync;
+
+    public EventSyncDTO() {
+    }
+
+    public EventSyncDTO(List<EventDTO> events, List<UUID> deleted, String syncToken, boolean fullSync) {
+        this.events = events;
+        this.deleted = deleted;
+        this.syncToken = syncToken;
+        this.fullSync = fullSync;
+    }
+
+    public List<EventDTO> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<EventDTO> events) {
+        this.events = events;
+    }
+
+    public List<UUID> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<UUID> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getSyncToken() {
+        return syncToken;
+    }
+
+    public void setSyncToken(String syncToken) {
+        this.syncToken = syncToken;
+    }
+
+    public boolean isFullSync() {
+        return fullSync;
+    }
+
+    public void setFullSync(boolean fullSync) {
+        this.fullSync = fullSync;
+    }
+}
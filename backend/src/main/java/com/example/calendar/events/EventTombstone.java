@@ -0,0 +1,73 @@
+package com.example.calendar.events;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Record of a deleted event, kept so delta sync can report the deletion.
+ * One row is written for the organizer (recipientEmail is null) and one for
+ * each invited recipient. Rows older than the sync retention are purged.
+ */
+@Entity
+@Table(name = "event_tombstones", indexes = {
+    @Index(name = "idx_tombstone_organizer_deleted", columnList = "organizer_id, deleted_at"),
+    @Index(name = "idx_tombstone_recipient_deleted", columnList = "recipient_email, deleted_at"),
+    @Index(name = "idx_tombstone_deleted", columnList = "deleted_at")
+})
+public class EventTombstone {
+
+    @Id
+    @GeneratedValue(generator = "UUID")
+    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(name = "event_id", nullable = false, updatable = false, columnDefinition = "BINARY(16)")
+    private UUID eventId;
+
+    @Column(name = "organizer_id", nullable = false, updatable = false, columnDefinition = "BINARY(16)")
+    private UUID organizerId;
+
+    @Column(name = "recipient_email", length = 320, updatable = false)
+    private String recipientEmail;
+
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private Instant deletedAt;
+
+    protected EventTombstone() {
+    }
+
+    public EventTombstone(UUID eventId, UUID organizerId, String recipientEmail) {
+        this.eventId = eventId;
+        this.organizerId = organizerId;
+        this.recipientEmail = recipientEmail;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        deletedAt = Instant.now();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public UUID getOrganizerId() {
+        return organizerId;
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
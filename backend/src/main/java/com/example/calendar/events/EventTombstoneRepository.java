@@ -0,0 +1,38 @@
+package com.example.calendar.events;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EventTombstoneRepository extends JpaRepository<EventTombstone, UUID> {
+
+    /**
+     * IDs of events deleted since an instant that the user organized or, when
+     * includeInvitations is true, was invited to. Each side is served from its
+     * own (owner, deleted_at) index.
+     */
+    @Query("SELECT DISTINCT t.eventId FROM EventTombstone t WHERE t.deletedAt >= :since AND " +
+           "((t.organizerId = :userId AND t.recipientEmail IS NULL) " +
+           "OR (:includeInvitations = true AND t.recipientEmail = :email))")
+    List<UUID> findDeletedEventIdsSince(
+        @Param("userId") UUID userId,
+        @Param("email") String email,
+        @Param("includeInvitations") boolean includeInvitations,
+        @Param("since") Instant since
+    );
+
+    /**
+     * Purge tombstones older than the sync retention window
+     * @return number of tombstones removed
+     */
+    @Modifying
+    @Query("DELETE FROM EventTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
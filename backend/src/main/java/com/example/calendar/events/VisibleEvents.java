@@ -0,0 +1,116 @@
+package com.example.calendar.events;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Merges the organized and accepted events of a user, each already ordered by
+ * (startDateTime, id), into one sequence in the same order.
+ * Ids are compared as unsigned bytes, the way the database orders BINARY(16),
+ * so the merged order agrees with keyset cursors evaluated in SQL. An event
+ * reached twice (duplicate accepted invitations) is kept once.
+ */
+final class VisibleEvents {
+
+    static final Comparator<Event> BY_START = Comparator.comparing(Event::getStartDateTime)
+            .thenComparing(Event::getId, VisibleEvents::compareIds);
+
+    private VisibleEvents() {
+    }
+
+    /**
+     * Merge two ordered lists, keeping at most limit events
+     */
+    static List<Event> merge(List<Event> first, List<Event> second, int limit) {
+        if (second.isEmpty() && first.size() <= limit) {
+            return first;
+        }
+        List<Event> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        Iterator<Event> events = new MergingIterator(first.iterator(), second.iterator());
+        while (merged.size() < limit && events.hasNext()) {
+            merged.add(events.next());
+        }
+        return merged;
+    }
+
+    /**
+     * Lazily merge two ordered streams; closing the result closes both
+     */
+    static Stream<Event> merge(Stream<Event> first, Stream<Event> second) {
+        Iterator<Event> events = new MergingIterator(first.iterator(), second.iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(events,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        first.close();
+                    } finally {
+                        second.close();
+                    }
+                });
+    }
+
+    static int compareIds(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static final class MergingIterator implements Iterator<Event> {
+
+        private final Iterator<Event> first;
+        private final Iterator<Event> second;
+        private Event nextFirst;
+        private Event nextSecond;
+        private UUID lastId;
+
+        MergingIterator(Iterator<Event> first, Iterator<Event> second) {
+            this.first = first;
+            this.second = second;
+            this.nextFirst = advance(first);
+            this.nextSecond = advance(second);
+        }
+
+        @Override
+        public boolean hasNext() {
+            skipRepeated();
+            return nextFirst != null || nextSecond != null;
+        }
+
+        @Override
+        public Event next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Event event;
+            if (nextSecond == null || (nextFirst != null && BY_START.compare(nextFirst, nextSecond) <= 0)) {
+                event = nextFirst;
+                nextFirst = advance(first);
+            } else {
+                event = nextSecond;
+                nextSecond = advance(second);
+            }
+            lastId = event.getId();
+            return event;
+        }
+
+        private void skipRepeated() {
+            while (nextFirst != null && nextFirst.getId().equals(lastId)) {
+                nextFirst = advance(first);
+            }
+            while (nextSecond != null && nextSecond.getId().equals(lastId)) {
+                nextSecond = advance(second);
+            }
+        }
+
+        private static Event advance(Iterator<Event> events) {
+            return events.hasNext() ? events.next() : null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.calendar.ics;
+
+import com.example.calendar.auth.User;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/ics")
+public class ICSExportController {
+
+    static final String CALENDAR_MEDIA_TYPE = "text/calendar";
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    @Autowired
+    private ICSExportService icsExportService;
+
+    /**
+     * Export the user's organized and accepted events as an iCalendar document
+     * GET /api/v1/ics/export?start=2025-01-01T00:00:00Z&end=2025-12-31T23:59:59Z
+     *
+     * Both bounds are optional. The document is streamed straight to the
+     * response, gzip-compressed when the client accepts it, and a matching
+     * If-None-Match returns 304 without reading any events.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportICS(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal User user,
+            ServletWebRequest webRequest,
+            HttpServletResponse response) throws IOException {
+
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("Authentication required"));
+        }
+
+        if (start != null && end != null && !end.isAfter(start)) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("End must be after start"));
+        }
+
+        String etag = icsExportService.computeETag(user, start, end);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        response.setContentType(CALENDAR_MEDIA_TYPE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"calendar.ics\"");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            icsExportService.export(user, start, end, writer);
+        }
+        return null;
+    }
+
+    // Simple error response DTO
+    private static class ErrorResponse {
+        private String error;
+
+        public ErrorResponse(String error) {
+            this.error = error;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.calendar.ics;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.events.Event;
+import com.example.calendar.events.EventRepository;
+import com.example.calendar.shared.ChangeVersionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Service for exporting a user's events as an iCalendar document
+ */
+@Service
+public class ICSExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ICSExportService.class);
+    private static final int FLUSH_INTERVAL = 100;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Compute a validator for the export of a user's calendar.
+     * Derived from the user's change version, which is replaced after every
+     * committed change to their events or invitations, so it needs no query.
+     * @param user The authenticated user
+     * @param start Optional range start (UTC)
+     * @param end Optional range end (UTC)
+     * @return Weak ETag value
+     */
+    public String computeETag(User user, Instant start, Instant end) {
+        return changeVersionService.etag(user.getEmail(), "ics", start, end, ICSWriter.PRODUCT_ID);
+    }
+
+    /**
+     * Write the user's organized and accepted events as an iCalendar document.
+     * Events are read from a database stream and written one at a time, then
+     * detached, so memory use does not depend on the size of the calendar.
+     * @param user The authenticated user
+     * @param start Optional range start (UTC)
+     * @param end Optional range end (UTC)
+     * @param out Destination for the document
+     * @return Number of events written
+     */
+    @Transactional(readOnly = true)
+    public int export(User user, Instant start, Instant end, Writer out) throws IOException {
+        ICSWriter writer = new ICSWriter(out);
+        writer.writeHeader();
+
+        int[] written = {0};
+        try (Stream<Event> events = eventRepository.streamVisibleInRange(
+                user.getId(), user.getEmail().toLowerCase(), true, start, end)) {
+            events.forEach(event -> {
+                try {
+                    writer.writeEvent(event);
+                    if (++written[0] % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(event);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.writeFooter();
+        logger.info("ICS export for user {}: {} events", user.getEmail(), written[0]);
+        return written[0];
+    }
+}
@@ -3,6 +3,9 @@ package com.example.calendar.ics;
 import com.example.calendar.auth.User;
 import com.example.calendar.events.Event;
 import com.example.calendar.events.EventRepository;
+import com.example.calendar.shared.CalendarChangedEvent;
+import com.example.calendar.shared.CalendarMetrics;
+import com.example.calendar.shared.CalendarMetrics.IcsStage;
 import net.fortuna.ical4j.data.CalendarBuilder;
 import net.fortuna.ical4j.model.*;
 import net.fortuna.ical4j.model.component.VEvent;
@@ -12,6 +15,7 @@ import net.fortuna.ical4j.model.property.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -36,6 +40,12 @@ public class ICSImportService {
     @Autowired
     private EventRepository eventRepository;
     
+    @Autowired
+    private CalendarMetrics calendarMetrics;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Import events from an ICS file
      * @param file The uploaded ICS file
@@ -56,18 +66,16 @@ public class ICSImportService {
         }
         
         try (InputStream inputStream = file.getInputStream()) {
-            long parseStartTime = System.currentTimeMillis();
+            long parseStartNanos = calendarMetrics.tick();
             CalendarBuilder builder = new CalendarBuilder();
             net.fortuna.ical4j.model.Calendar calendar = builder.build(inputStream);
-            long parseEndTime = System.currentTimeMillis();
-            logger.debug("ICS parsing completed in {} ms", parseEndTime - parseStartTime);
+            calendarMetrics.recordIcsStage(IcsStage.PARSE, parseStartNanos);
             
             // Get all VEVENT components
             List<VEvent> vEvents = calendar.getComponents(Component.VEVENT);
             
             logger.info("Processing {} events from ICS file for user {}", vEvents.size(), user.getEmail());
             
-            long processingStartTime = System.currentTimeMillis();
             for (VEvent vEvent : vEvents) {
                 try {
                     processVEvent(vEvent, user, result);
@@ -76,13 +84,16 @@ public class ICSImportService {
                     result.addError("Event '" + getSummary(vEvent) + "': " + e.getMessage());
                 }
             }
-            long processingEndTime = System.currentTimeMillis();
             
+            if (result.getImportedCount() > 0) {
+                eventPublisher.publishEvent(CalendarChangedEvent.of(
+                        CalendarChangedEvent.Change.EVENTS_IMPORTED, null, user.getEmail()));
+            }
+            
+            // Per-stage durations are recorded by the calendar.ics.import timers
             long totalTime = System.currentTimeMillis() - startTime;
-            logger.info("ICS import completed for user {} - Total: {} ms, Parse: {} ms, Processing: {} ms - " +
-                    "Imported: {}, Duplicates: {}, Errors: {}", 
-                    user.getEmail(), totalTime, parseEndTime - parseStartTime, 
-                    processingEndTime - processingStartTime,
+            logger.info("ICS import completed for user {} in {} ms - Imported: {}, Duplicates: {}, Errors: {}", 
+                    user.getEmail(), totalTime,
                     result.getImportedCount(), result.getDuplicateCount(), result.getErrorCount());
             
             // Performance warning for large imports
@@ -115,7 +126,9 @@ public class ICSImportService {
             expandRecurringEvent(vEvent, rrule, user, result, valueType);
         } else {
             // Single event
+            long convertStartNanos = calendarMetrics.tick();
             Event event = convertVEventToEvent(vEvent, user, null, valueType);
+            calendarMetrics.recordIcsStage(IcsStage.CONVERT, convertStartNanos);
             if (event != null) {
                 saveEvent(event, result);
             }
@@ -157,7 +170,9 @@ public class ICSImportService {
                 
                 try {
                     net.fortuna.ical4j.model.Date instanceDate = (net.fortuna.ical4j.model.Date) dateObj;
+                    long convertStartNanos = calendarMetrics.tick();
                     Event event = convertVEventToEvent(vEvent, user, instanceDate, valueType);
+                    calendarMetrics.recordIcsStage(IcsStage.CONVERT, convertStartNanos);
                     if (event != null) {
                         saveEvent(event, result);
                         instanceCount++;
@@ -326,6 +341,8 @@ public class ICSImportService {
      * Save event if not a duplicate
      */
     private void saveEvent(Event event, ICSImportResultDTO result) {
+        long persistStartNanos = calendarMetrics.tick();
+        
         // Check for duplicate (same title, start time, and organizer)
         List<Event> existingEvents = eventRepository.findByOrganizerAndDateRange(
             event.getOrganizer().getId(),
@@ -344,6 +361,7 @@ public class ICSImportService {
             result.incrementImported();
             logger.debug("Imported event: {} at {}", event.getTitle(), event.getStartDateTime());
         }
+        calendarMetrics.recordIcsStage(IcsStage.PERSIST, persistStartNanos);
     }
     
     /**
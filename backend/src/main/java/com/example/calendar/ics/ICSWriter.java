@@ -0,0 +1,149 @@
+package com.example.calendar.ics;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.events.Event;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Minimal streaming iCalendar (RFC 5545) writer.
+ * Each event is written as soon as it is passed in, so exporting a calendar
+ * never builds an ical4j Calendar or holds more than one event in memory.
+ * Text values are escaped and lines folded at 75 octets with CRLF endings.
+ */
+public class ICSWriter {
+
+    static final String PRODUCT_ID = "-//Calendar Application//Export//EN";
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter
+            .ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final Writer out;
+
+    public ICSWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Write the VCALENDAR header
+     */
+    public void writeHeader() throws IOException {
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:" + PRODUCT_ID);
+        writeLine("CALSCALE:GREGORIAN");
+        writeLine("METHOD:PUBLISH");
+    }
+
+    /**
+     * Write one event as a VEVENT component.
+     * Recurring events are stored as expanded instances, so RRULE is not
+     * exported; doing so would multiply the occurrences in the receiving tool.
+     * @param event The event to write (organizer must be loaded)
+     */
+    public void writeEvent(Event event) throws IOException {
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:" + event.getId());
+        Instant stamp = event.getUpdatedAt() != null ? event.getUpdatedAt() : event.getStartDateTime();
+        writeLine("DTSTAMP:" + UTC_DATE_TIME.format(stamp));
+        writeLine("DTSTART:" + UTC_DATE_TIME.format(event.getStartDateTime()));
+        writeLine("DTEND:" + UTC_DATE_TIME.format(event.getEndDateTime()));
+        writeText("SUMMARY", event.getTitle());
+        writeText("DESCRIPTION", event.getDescription());
+        writeText("LOCATION", event.getLocation());
+        if (event.getVideoConferenceLink() != null && !event.getVideoConferenceLink().isEmpty()) {
+            writeLine("URL:" + event.getVideoConferenceLink());
+        }
+        User organizer = event.getOrganizer();
+        if (organizer != null) {
+            writeLine("ORGANIZER;CN=" + quoteParameter(organizer.getDisplayName()) + ":mailto:" + organizer.getEmail());
+        }
+        if (event.getUpdatedAt() != null) {
+            writeLine("LAST-MODIFIED:" + UTC_DATE_TIME.format(event.getUpdatedAt()));
+        }
+        writeLine("END:VEVENT");
+    }
+
+    /**
+     * Write the VCALENDAR footer and flush
+     */
+    public void writeFooter() throws IOException {
+        writeLine("END:VCALENDAR");
+        out.flush();
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeText(String name, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            writeLine(name + ":" + escapeText(value));
+        }
+    }
+
+    /**
+     * Write a content line, folding it so no physical line exceeds 75 octets
+     */
+    void writeLine(String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            boolean pair = Character.isHighSurrogate(c) && i + 1 < line.length();
+            int width = pair ? 4 : utf8Length(c);
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.write(CRLF);
+                out.write(' ');
+                octets = 1;
+            }
+            out.write(c);
+            if (pair) {
+                out.write(line.charAt(++i));
+            }
+            octets += width;
+        }
+        out.write(CRLF);
+    }
+
+    static String escapeText(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ';' -> escaped.append("\\;");
+                case ',' -> escaped.append("\\,");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    // Dropped; CRLF pairs are represented by the \n escape
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String quoteParameter(String value) {
+        if (value == null) {
+            return "\"\"";
+        }
+        return "\"" + value.replace("\"", "'") + "\"";
+    }
+
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800) {
+            return 2;
+        }
+        return 3;
+    }
+}
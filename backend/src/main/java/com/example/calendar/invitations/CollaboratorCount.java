@@ -0,0 +1,78 @@
+package com.example.calendar.invitations;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * How many invitations an organizer has sent to one address, and when the
+ * latest was sent. Rows are upserted as invitations are created
+ * (see CollaboratorCountRepository.recordInvitation).
+ */
+@Entity
+@Table(name = "collaborator_counts")
+@IdClass(CollaboratorCount.Key.class)
+public class CollaboratorCount {
+
+    @Id
+    @Column(name = "organizer_id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
+    private UUID organizerId;
+
+    @Id
+    @Column(name = "collaborator_email", updatable = false, nullable = false, length = 320)
+    private String collaboratorEmail;
+
+    @Column(name = "collaboration_count", nullable = false)
+    private Integer collaborationCount;
+
+    @Column(name = "last_seen", nullable = false)
+    private Instant lastSeen;
+
+    public UUID getOrganizerId() {
+        return organizerId;
+    }
+
+    public String getCollaboratorEmail() {
+        return collaboratorEmail;
+    }
+
+    public Integer getCollaborationCount() {
+        return collaborationCount;
+    }
+
+    public Instant getLastSeen() {
+        return lastSeen;
+    }
+
+    /**
+     * Composite key: organizer and lowercased collaborator email
+     */
+    public static class Key implements Serializable {
+        private UUID organizerId;
+        private String collaboratorEmail;
+
+        public Key() {
+        }
+
+        public Key(UUID organizerId, String collaboratorEmail) {
+            this.organizerId = organizerId;
+            this.collaboratorEmail = collaboratorEmail;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(organizerId, key.organizerId)
+                && Objects.equals(collaboratorEmail, key.collaboratorEmail);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(organizerId, collaboratorEmail);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.calendar.invitations;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CollaboratorCountRepository extends JpaRepository<CollaboratorCount, CollaboratorCount.Key> {
+
+    /**
+     * An address the organizer has invited, with the invitation count
+     */
+    interface TopCollaborator {
+        String getEmail();
+        String getDisplayName();
+        String getTimezone();
+        Integer getCount();
+    }
+
+    /**
+     * Count one more invitation from the organizer to the address, creating the row if needed.
+     * Drops the organizer's cached suggestions (AvailabilityService#getSuggestedCollaborators).
+     */
+    @Modifying
+    @CacheEvict(value = "collaborators", key = "#organizerId")
+    @Query(value = "INSERT INTO collaborator_counts (organizer_id, collaborator_email, collaboration_count, last_seen) " +
+                   "VALUES (:organizerId, :email, 1, :seen) " +
+                   "ON DUPLICATE KEY UPDATE collaboration_count = collaboration_count + 1, last_seen = :seen",
+           nativeQuery = true)
+    int recordInvitation(
+        @Param("organizerId") UUID organizerId,
+        @Param("email") String email,
+        @Param("seen") Instant seen
+    );
+
+    /**
+     * The organizer's most frequently invited registered users, most invited
+     * first, then most recently invited. Reads only the organizer's rows from
+     * the (organizer_id, collaboration_count, last_seen) index.
+     */
+    @Query("SELECT c.collaboratorEmail AS email, u.displayName AS displayName, u.timezone AS timezone, " +
+           "c.collaborationCount AS count " +
+           "FROM CollaboratorCount c JOIN User u ON u.email = c.collaboratorEmail " +
+           "WHERE c.organizerId = :organizerId AND u.id <> :organizerId " +
+           "ORDER BY c.collaborationCount DESC, c.lastSeen DESC")
+    List<TopCollaborator> findTopCollaborators(
+        @Param("organizerId") UUID organizerId,
+        Pageable pageable
+    );
+
+    /**
+     * Every address the organizer has invited, registered or not (display name
+     * and timezone are null for outside addresses), most invited first
+     */
+    @Query("SELECT c.collaboratorEmail AS email, u.displayName AS displayName, u.timezone AS timezone, " +
+           "c.collaborationCount AS count " +
+           "FROM CollaboratorCount c LEFT JOIN User u ON u.email = c.collaboratorEmail " +
+           "WHERE c.organizerId = :organizerId " +
+           "ORDER BY c.collaborationCount DESC, c.lastSeen DESC")
+    List<TopCollaborator> findAllCollaborators(
+        @Param("organizerId") UUID organizerId,
+        Pageable pageable
+    );
+}
@@ -1,6 +1,7 @@
 package com.example.calendar.invitations;
 
 import com.example.calendar.events.Event;
+import com.example.calendar.shared.CalendarMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +24,9 @@ public class EmailService {
     @Autowired
     private EmailProvider emailProvider;
     
+    @Autowired
+    private CalendarMetrics calendarMetrics;
+    
     /**
      * Send a simple email
      * @param to Recipient email address
@@ -30,7 +34,13 @@ public class EmailService {
      * @param message Email message
      */
     public void sendEmail(String to, String subject, String message) {
-        emailProvider.sendEmail(to, subject, message);
+        long startNanos = calendarMetrics.tick();
+        boolean sent = false;
+        try {
+            sent = emailProvider.sendEmail(to, subject, message);
+        } finally {
+            calendarMetrics.recordEmail(sent, startNanos);
+        }
     }
     
     /**
@@ -38,6 +48,7 @@ public class EmailService {
      * @param invitation The invitation containing event and recipient details
      */
     public void sendInvitationEmail(Invitation invitation) {
+        long startNanos = calendarMetrics.tick();
         Event event = invitation.getEvent();
         String recipientEmail = invitation.getRecipientEmail();
         
@@ -77,6 +88,7 @@ public class EmailService {
         logger.info("  Invitation ID: {}", invitation.getId());
         logger.info("  Status: {}", invitation.getStatus());
         logger.info("========================");
+        calendarMetrics.recordEmail(true, startNanos);
     }
     
     /**
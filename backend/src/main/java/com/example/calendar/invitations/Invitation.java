@@ -11,7 +11,12 @@ import java.util.UUID;
 @Table(name = "invitations", indexes = {
     @Index(name = "idx_event", columnList = "event_id"),
     @Index(name = "idx_recipient", columnList = "recipient_email"),
-    @Index(name = "idx_status", columnList = "status")
+    @Index(name = "idx_status", columnList = "status"),
+    @Index(name = "idx_event_status", columnList = "event_id, status"),
+    @Index(name = "idx_recipient_created", columnList = "recipient_email, created_at, id"),
+    @Index(name = "idx_event_recipient_normalized", columnList = "event_id, recipient_email_normalized"),
+    @Index(name = "idx_recipient_updated", columnList = "recipient_email, updated_at"),
+    @Index(name = "idx_recipient_status", columnList = "recipient_email, status, event_id")
 })
 public class Invitation {
 
@@ -28,6 +33,11 @@ public class Invitation {
     @Column(name = "recipient_email", nullable = false, length = 320)
     private String recipientEmail;
 
+    // Computed by the database from recipient_email; only used in queries
+    @Column(name = "recipient_email_normalized", length = 320, insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(320) GENERATED ALWAYS AS (LOWER(recipient_email)) STORED")
+    private String recipientEmailNormalized;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, columnDefinition = "ENUM('PENDING', 'ACCEPTED', 'DECLINED', 'PROPOSED', 'SUPERSEDED', 'CANCELLED')")
     private InvitationStatus status = InvitationStatus.PENDING;
@@ -86,6 +96,10 @@ public class Invitation {
         this.recipientEmail = recipientEmail;
     }
 
+    public String getRecipientEmailNormalized() {
+        return recipientEmailNormalized;
+    }
+
     public InvitationStatus getStatus() {
         return status;
     }
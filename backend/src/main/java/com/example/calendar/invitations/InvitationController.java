@@ -2,14 +2,18 @@ package com.example.calendar.invitations;
 
 import com.example.calendar.auth.User;
 import com.example.calendar.events.EventService;
+import com.example.calendar.shared.ChangeVersionService;
+import com.example.calendar.shared.KeysetCursor;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,6 +24,9 @@ import java.util.UUID;
 public class InvitationController {
     
     private static final Logger logger = LoggerFactory.getLogger(InvitationController.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
     
     @Autowired
     private InvitationService invitationService;
@@ -29,6 +36,9 @@ public class InvitationController {
 
     @Autowired
     private EventService eventService;
+
+    @Autowired
+    private ChangeVersionService changeVersionService;
     
     /**
      * Respond to an invitation (accept/decline)
@@ -69,15 +79,23 @@ public class InvitationController {
     }
     
     /**
-     * Get all invitations for the authenticated user
-     * GET /api/v1/invitations
+     * Get invitations for the authenticated user
+     * GET /api/v1/invitations?status=ACCEPTED&limit=50&cursor=...
+     * 
+     * Without limit/cursor the full list is returned. With either, one page is
+     * returned (newest first) and the cursor for the next page is sent in the
+     * X-Next-Cursor header; the header is absent on the last page.
+     * A matching If-None-Match returns 304 before any invitations are read.
      */
     @GetMapping
     public ResponseEntity<List<InvitationDTO>> getUserInvitations(
             @AuthenticationPrincipal User user,
         @RequestParam(required = false) InvitationStatus status,
+        @RequestParam(required = false) Integer limit,
+        @RequestParam(required = false) String cursor,
         @RequestParam(required = false) String viewerTimezone,
-        @RequestHeader(value = "X-User-Timezone", required = false) String viewerTimezoneHeader) {
+        @RequestHeader(value = "X-User-Timezone", required = false) String viewerTimezoneHeader,
+        ServletWebRequest webRequest) {
         
         // Temporary fix for authentication issues during debugging
         if (user == null) {
@@ -85,18 +103,36 @@ public class InvitationController {
             return ResponseEntity.ok(new ArrayList<>());
         }
         
-        logger.info("Get invitations for user {}, status={}", user.getEmail(), status);
+        logger.info("Get invitations for user {}, status={}, limit={}", user.getEmail(), status, limit);
+        
+        String requestedTimezone = viewerTimezone != null ? viewerTimezone : viewerTimezoneHeader;
+        String effectiveTimezone = eventService.resolveViewerTimezone(requestedTimezone, user);
+
+        String etag = changeVersionService.etag(user.getEmail(), "invitations", status, limit, cursor, effectiveTimezone);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        boolean paged = limit != null || cursor != null;
+        String nextCursor = null;
         
         List<Invitation> invitations;
-        if (status != null) {
+        if (paged) {
+            int pageSize = Math.min(Math.max(limit != null ? limit : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+            KeysetCursor keyset = cursor != null ? KeysetCursor.decode(cursor) : null;
+            // Read one extra row to learn whether another page follows
+            invitations = invitationService.getUserInvitationsPage(user, status, keyset, pageSize + 1);
+            if (invitations.size() > pageSize) {
+                invitations = invitations.subList(0, pageSize);
+                Invitation last = invitations.get(pageSize - 1);
+                nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+            }
+        } else if (status != null) {
             invitations = invitationService.getUserInvitationsByStatus(user, status);
         } else {
             invitations = invitationService.getUserInvitations(user);
         }
         
-        String requestedTimezone = viewerTimezone != null ? viewerTimezone : viewerTimezoneHeader;
-        String effectiveTimezone = eventService.resolveViewerTimezone(requestedTimezone, user);
-
         List<InvitationDTO> dtos = invitations.stream()
                 .map(invitationMapper::toDTO)
                 .peek(dto -> {
@@ -106,7 +142,11 @@ public class InvitationController {
                 })
                 .toList();
         
-        return ResponseEntity.ok(dtos);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(dtos);
     }
     
     // Event invitation endpoints moved to EventInvitationsController for proper path mapping
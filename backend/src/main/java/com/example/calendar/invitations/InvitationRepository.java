@@ -1,8 +1,14 @@
 package com.example.calendar.invitations;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,15 +17,109 @@ public interface InvitationRepository extends JpaRepository<Invitation, UUID> {
     
     List<Invitation> findByEventId(UUID eventId);
     
+    /**
+     * Recipient emails of an event's invitations, without loading the invitations
+     */
+    @Query("SELECT i.recipientEmail FROM Invitation i WHERE i.event.id = :eventId")
+    List<String> findRecipientEmailsByEventId(@Param("eventId") UUID eventId);
+    
+    @EntityGraph(attributePaths = {"event", "event.organizer"})
     List<Invitation> findByRecipientEmail(String recipientEmail);
     
     List<Invitation> findByStatus(InvitationStatus status);
     
     List<Invitation> findByEventIdAndRecipientEmail(UUID eventId, String recipientEmail);
     
+    /**
+     * Check whether an email is invited to an event (any status).
+     * Matches on the lowercased generated column, served from the
+     * (event_id, recipient_email_normalized) index without loading invitations.
+     */
+    boolean existsByEventIdAndRecipientEmailNormalized(UUID eventId, String recipientEmailNormalized);
+    
+    /**
+     * IDs of events whose invitation to an email changed to a non-accepted status since an instant,
+     * i.e. events that may have left the recipient's calendar. Served from the
+     * (recipient_email, updated_at) index.
+     */
+    @Query("SELECT i.event.id FROM Invitation i WHERE i.recipientEmail = :email AND i.updatedAt >= :since " +
+           "AND i.status <> com.example.calendar.invitations.InvitationStatus.ACCEPTED " +
+           "AND i.event.organizer.id <> :userId")
+    List<UUID> findWithdrawnEventIdsSince(
+        @Param("userId") UUID userId,
+        @Param("email") String email,
+        @Param("since") Instant since
+    );
+    
     /**
      * Find invitations by recipient email and status
-     * Used for fetching events where the user is invited and has accepted
+     * Used for fetching events where the user is invited and has accepted.
+     * The event and its organizer are fetched in the same query.
      */
+    @EntityGraph(attributePaths = {"event", "event.organizer"})
     List<Invitation> findByRecipientEmailAndStatus(String recipientEmail, InvitationStatus status);
+    
+    /**
+     * Count invitations per status for an event.
+     * Grouped in the database so the summary never hydrates Invitation entities;
+     * served from the (event_id, status) index.
+     */
+    @Query("SELECT i.status AS status, COUNT(i) AS count FROM Invitation i " +
+           "WHERE i.event.id = :eventId GROUP BY i.status")
+    List<StatusCount> countByStatusForEvent(@Param("eventId") UUID eventId);
+    
+    /**
+     * Projection for grouped invitation status counts
+     */
+    interface StatusCount {
+        InvitationStatus getStatus();
+        long getCount();
+    }
+    
+    /**
+     * Move every invitation of an event in one status to another, except one invitation.
+     * Issued as a single set-based UPDATE; updatedAt is set explicitly because
+     * bulk statements bypass the entity @PreUpdate callback. Pending changes are
+     * flushed first and the persistence context is cleared afterwards, so no
+     * stale invitation survives; callers re-read the entities they still need.
+     * @return number of invitations updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Invitation i SET i.status = :newStatus, i.updatedAt = :now " +
+           "WHERE i.event.id = :eventId AND i.status = :currentStatus AND i.id <> :excludedId")
+    int updateStatusForEventExcept(
+        @Param("eventId") UUID eventId,
+        @Param("currentStatus") InvitationStatus currentStatus,
+        @Param("newStatus") InvitationStatus newStatus,
+        @Param("excludedId") UUID excludedId,
+        @Param("now") Instant now
+    );
+    
+    /**
+     * First page of a recipient's invitations, newest first, optionally filtered by status.
+     * Page size is taken from the Pageable; the event and organizer are fetched in the same query.
+     */
+    @Query("SELECT i FROM Invitation i JOIN FETCH i.event e JOIN FETCH e.organizer " +
+           "WHERE i.recipientEmail = :email AND (:status IS NULL OR i.status = :status) " +
+           "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Invitation> findPageByRecipient(
+        @Param("email") String email,
+        @Param("status") InvitationStatus status,
+        Pageable pageable
+    );
+    
+    /**
+     * Next page of a recipient's invitations after the (createdAt, id) keyset cursor
+     */
+    @Query("SELECT i FROM Invitation i JOIN FETCH i.event e JOIN FETCH e.organizer " +
+           "WHERE i.recipientEmail = :email AND (:status IS NULL OR i.status = :status) " +
+           "AND (i.createdAt < :cursorCreatedAt OR (i.createdAt = :cursorCreatedAt AND i.id < :cursorId)) " +
+           "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Invitation> findPageByRecipientAfter(
+        @Param("email") String email,
+        @Param("status") InvitationStatus status,
+        @Param("cursorCreatedAt") Instant cursorCreatedAt,
+        @Param("cursorId") UUID cursorId,
+        Pageable pageable
+    );
 }
@@ -3,15 +3,22 @@ package com.example.calendar.invitations;
 import com.example.calendar.auth.User;
 import com.example.calendar.events.Event;
 import com.example.calendar.events.EventRepository;
+import com.example.calendar.shared.CalendarChangedEvent;
+import com.example.calendar.shared.KeysetCursor;
+import com.example.calendar.shared.TimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,6 +33,9 @@ public class InvitationService {
     @Autowired
     private EventRepository eventRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Respond to an invitation (accept/decline/propose)
      */
@@ -75,6 +85,11 @@ public class InvitationService {
         
         logger.info("Invitation {} response saved: {} by {}", 
                 invitationId, newStatus, user.getEmail());
+        Event respondedEvent = invitation.getEvent();
+        eventPublisher.publishEvent(new CalendarChangedEvent(CalendarChangedEvent.Change.INVITATION_RESPONDED,
+                respondedEvent.getId(),
+                List.of(invitation.getRecipientEmail(), respondedEvent.getOrganizer().getEmail()),
+                respondedEvent.getStartDateTime(), respondedEvent.getEndDateTime()));
         
         return invitation;
     }
@@ -83,6 +98,7 @@ public class InvitationService {
      * Get all invitations for an event
      */
     @Cacheable(value = "invitations", key = "'event_' + #eventId")
+    @Transactional(readOnly = true)
     public List<Invitation> getEventInvitations(UUID eventId, User user) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
@@ -95,9 +111,20 @@ public class InvitationService {
         return invitationRepository.findByEventId(eventId);
     }
     
+    /**
+     * Check whether an email has been invited to an event.
+     * Only positive decisions are cached: invitations are never removed once
+     * sent, so a cached "invited" answer cannot go stale.
+     */
+    @Cacheable(value = "eventAccess", key = "#eventId + '_' + #email.toLowerCase()", unless = "!#result")
+    public boolean isEventRecipient(UUID eventId, String email) {
+        return invitationRepository.existsByEventIdAndRecipientEmailNormalized(eventId, email.toLowerCase());
+    }
+    
     /**
      * Get invitation response summary for an event
      */
+    @Transactional(readOnly = true)
     public InvitationSummaryDTO getEventInvitationSummary(UUID eventId, User user) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
@@ -107,31 +134,31 @@ public class InvitationService {
             throw new IllegalArgumentException("User is not the organizer of this event");
         }
         
-        List<Invitation> invitations = invitationRepository.findByEventId(eventId);
-        
-        int total = invitations.size();
+        int total = 0;
         int accepted = 0;
         int declined = 0;
         int pending = 0;
         int proposed = 0;
         int superseded = 0;
         
-        for (Invitation invitation : invitations) {
-            switch (invitation.getStatus()) {
+        for (InvitationRepository.StatusCount row : invitationRepository.countByStatusForEvent(eventId)) {
+            int count = (int) row.getCount();
+            total += count;
+            switch (row.getStatus()) {
                 case ACCEPTED:
-                    accepted++;
+                    accepted = count;
                     break;
                 case DECLINED:
-                    declined++;
+                    declined = count;
                     break;
                 case PENDING:
-                    pending++;
+                    pending = count;
                     break;
                 case PROPOSED:
-                    proposed++;
+                    proposed = count;
                     break;
                 case SUPERSEDED:
-                    superseded++;
+                    superseded = count;
                     break;
                 default:
                     break;
@@ -147,6 +174,7 @@ public class InvitationService {
     /**
      * Get invitations for a user (where they are the recipient)
      */
+    @Transactional(readOnly = true)
     public List<Invitation> getUserInvitations(User user) {
         return invitationRepository.findByRecipientEmail(user.getEmail());
     }
@@ -154,11 +182,27 @@ public class InvitationService {
     /**
      * Get invitations by status for a user
      */
+    @Transactional(readOnly = true)
     public List<Invitation> getUserInvitationsByStatus(User user, InvitationStatus status) {
-        List<Invitation> allInvitations = invitationRepository.findByRecipientEmail(user.getEmail());
-        return allInvitations.stream()
-                .filter(inv -> inv.getStatus() == status)
-                .toList();
+        return invitationRepository.findByRecipientEmailAndStatus(user.getEmail(), status);
+    }
+    
+    /**
+     * Get one page of invitations for a user, newest first
+     * @param user The recipient
+     * @param status Optional status filter (null for all statuses)
+     * @param cursor Keyset cursor from the previous page (null for the first page)
+     * @param limit Maximum number of invitations to return
+     * @return Invitations on the requested page
+     */
+    @Transactional(readOnly = true)
+    public List<Invitation> getUserInvitationsPage(User user, InvitationStatus status, KeysetCursor cursor, int limit) {
+        Pageable page = PageRequest.ofSize(limit);
+        if (cursor == null) {
+            return invitationRepository.findPageByRecipient(user.getEmail(), status, page);
+        }
+        return invitationRepository.findPageByRecipientAfter(
+                user.getEmail(), status, cursor.getInstant(), cursor.getId(), page);
     }
     
     /**
@@ -166,6 +210,7 @@ public class InvitationService {
      * Uses optimistic locking to prevent concurrent updates
      */
     @Transactional
+    @CacheEvict(value = {"invitations", "events"}, allEntries = true)
     public Event acceptProposal(UUID invitationId, User user) {
         logger.info("User {} accepting proposal for invitation {}", user.getEmail(), invitationId);
         
@@ -206,8 +251,19 @@ public class InvitationService {
         invitation.setRespondedAt(Instant.now());
         invitationRepository.save(invitation);
         
-        // Supersede all other proposals for this event (T081)
+        // Supersede all other proposals for this event (T081); the bulk update
+        // clears the persistence context, so the event is read again afterwards
         supersedOtherProposals(event.getId(), invitationId);
+        event = eventRepository.findById(event.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        
+        // The event time changed for everyone invited
+        List<String> affected = new ArrayList<>(invitationRepository.findRecipientEmailsByEventId(event.getId()));
+        affected.add(user.getEmail());
+        eventPublisher.publishEvent(new CalendarChangedEvent(
+                CalendarChangedEvent.Change.PROPOSAL_ACCEPTED, event.getId(), affected,
+                TimeUtils.earlier(oldStart, event.getStartDateTime()),
+                TimeUtils.later(oldEnd, event.getEndDateTime())));
         
         return event;
     }
@@ -242,42 +298,38 @@ public class InvitationService {
         invitation = invitationRepository.save(invitation);
         
         logger.info("Proposal rejected for invitation {}", invitationId);
+        eventPublisher.publishEvent(CalendarChangedEvent.of(CalendarChangedEvent.Change.PROPOSAL_REJECTED,
+                event.getId(), invitation.getRecipientEmail(), user.getEmail()));
         
         return invitation;
     }
     
     /**
      * Mark all other proposals for an event as superseded (T081)
+     * @return number of proposals superseded
      */
     @Transactional
-    public void supersedOtherProposals(UUID eventId, UUID acceptedInvitationId) {
+    @CacheEvict(value = {"invitations", "events"}, allEntries = true)
+    public int supersedOtherProposals(UUID eventId, UUID acceptedInvitationId) {
         logger.info("Superseding other proposals for event {} (accepted: {})", 
                 eventId, acceptedInvitationId);
         
-        List<Invitation> allInvitations = invitationRepository.findByEventId(eventId);
-        
-        int superseded = 0;
-        for (Invitation invitation : allInvitations) {
-            // Skip the accepted invitation
-            if (invitation.getId().equals(acceptedInvitationId)) {
-                continue;
-            }
-            
-            // Supersede other proposals
-            if (invitation.getStatus() == InvitationStatus.PROPOSED) {
-                invitation.setStatus(InvitationStatus.SUPERSEDED);
-                invitationRepository.save(invitation);
-                superseded++;
-                logger.debug("Superseded invitation {}", invitation.getId());
-            }
-        }
+        int superseded = invitationRepository.updateStatusForEventExcept(
+                eventId, InvitationStatus.PROPOSED, InvitationStatus.SUPERSEDED,
+                acceptedInvitationId, Instant.now());
         
         logger.info("Superseded {} proposals for event {}", superseded, eventId);
+        if (superseded > 0) {
+            eventPublisher.publishEvent(new CalendarChangedEvent(CalendarChangedEvent.Change.PROPOSALS_SUPERSEDED,
+                    eventId, invitationRepository.findRecipientEmailsByEventId(eventId)));
+        }
+        return superseded;
     }
     
     /**
      * Get all proposals for an event (organizer view)
      */
+    @Transactional(readOnly = true)
     public List<Invitation> getEventProposals(UUID eventId, User user) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
@@ -0,0 +1,19 @@
+package com.example.calendar.notifications;
+
+import java.util.Collection;
+
+/**
+ * Carries change notifications to every application node, each of which
+ * delivers them to its own subscribers through the {@link SubscriptionRegistry}.
+ * The local implementation delivers in-process (single node); the Redis one
+ * publishes on a pub/sub channel. Selected with app.notifications.fanout.
+ */
+public interface ChangeFanout {
+
+    /**
+     * Send a notification to the subscribers of the given users on all nodes
+     * @param emails Lowercased emails of the users to notify
+     * @param notification The notification to send
+     */
+    void publish(Collection<String> emails, ChangeNotificationDTO notification);
+}
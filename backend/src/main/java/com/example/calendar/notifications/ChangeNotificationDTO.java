@@ -0,0 +1,49 @@
+package com.example.calendar.notifications;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Payload of a "change" server-sent event.
+ * Tells the client what changed so it can refresh the affected views
+ * (typically with a delta sync); it does not carry the changed data itself.
+ */
+public class ChangeNotificationDTO {
+
+    private String change;
+    private UUID eventId;
+    private Instant occurredAt;
+
+    public ChangeNotificationDTO() {
+    }
+
+    public ChangeNotificationDTO(String change, UUID eventId, Instant occurredAt) {
+        this.change = change;
+        this.eventId = eventId;
+        this.occurredAt = occurredAt;
+    }
+
+    public String getChange() {
+        return change;
+    }
+
+    public void setChange(String change) {
+        this.change = change;
+    }
+
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.calendar.notifications;
+
+import com.example.calendar.shared.CalendarChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+/**
+ * Turns committed calendar changes into notifications for the affected users
+ */
+@Component
+public class ChangeNotificationPublisher {
+
+    @Autowired
+    private ChangeFanout changeFanout;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        if (event.getEmails().isEmpty()) {
+            return;
+        }
+        changeFanout.publish(event.getEmails(), new ChangeNotificationDTO(
+                event.getChange().name(), event.getEventId(), Instant.now()));
+    }
+}
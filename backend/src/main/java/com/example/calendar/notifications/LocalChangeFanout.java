@@ -0,0 +1,20 @@
+package com.example.calendar.notifications;
+
+import java.util.Collection;
+
+/**
+ * Single-node fanout: delivers straight to this node's subscribers
+ */
+public class LocalChangeFanout implements ChangeFanout {
+
+    private final SubscriptionRegistry subscriptionRegistry;
+
+    public LocalChangeFanout(SubscriptionRegistry subscriptionRegistry) {
+        this.subscriptionRegistry = subscriptionRegistry;
+    }
+
+    @Override
+    public void publish(Collection<String> emails, ChangeNotificationDTO notification) {
+        subscriptionRegistry.deliver(emails, notification);
+    }
+}
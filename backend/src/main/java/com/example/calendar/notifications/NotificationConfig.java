@@ -0,0 +1,42 @@
+package com.example.calendar.notifications;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Change notification fanout.
+ * Uses the in-process fanout unless app.notifications.fanout=redis, which is
+ * needed as soon as more than one backend node serves subscriptions.
+ */
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.fanout", havingValue = "local", matchIfMissing = true)
+    public ChangeFanout localChangeFanout(SubscriptionRegistry subscriptionRegistry) {
+        return new LocalChangeFanout(subscriptionRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.fanout", havingValue = "redis")
+    public RedisChangeFanout redisChangeFanout(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                               SubscriptionRegistry subscriptionRegistry) {
+        return new RedisChangeFanout(redisTemplate, objectMapper, subscriptionRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.fanout", havingValue = "redis")
+    public RedisMessageListenerContainer changeNotificationListenerContainer(
+            RedisConnectionFactory connectionFactory, RedisChangeFanout redisChangeFanout) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(redisChangeFanout, new ChannelTopic(RedisChangeFanout.CHANNEL));
+        return container;
+    }
+}
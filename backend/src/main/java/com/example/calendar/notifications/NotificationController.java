@@ -0,0 +1,74 @@
+package com.example.calendar.notifications;
+
+import com.example.calendar.auth.JwtUtil;
+import com.example.calendar.auth.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/notifications")
+public class NotificationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
+
+    @Autowired
+    private SubscriptionRegistry subscriptionRegistry;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    /**
+     * Issue a short-lived ticket for opening the stream
+     * POST /api/v1/notifications/ticket
+     * 
+     * A browser EventSource cannot send the Authorization header, so it connects with
+     * new EventSource('/api/v1/notifications/stream?ticket=...'). The ticket is only
+     * accepted by the stream endpoint; fetch a fresh one before each reconnect.
+     */
+    @PostMapping("/ticket")
+    public ResponseEntity<StreamTicketDTO> ticket(@AuthenticationPrincipal User user) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String ticket = jwtUtil.generateStreamTicket(user.getId(), user.getEmail());
+        return ResponseEntity.ok(new StreamTicketDTO(ticket, jwtUtil.getStreamTicketExpiration() / 1000));
+    }
+
+    /**
+     * Subscribe to change notifications as server-sent events
+     * GET /api/v1/notifications/stream
+     * 
+     * Sends a "ready" event on connect, then a "change" event (ChangeNotificationDTO)
+     * whenever an event or invitation visible to the user changes, and a keepalive
+     * comment periodically. Clients should refresh with a delta sync on each change.
+     * Authenticates with the Authorization header, or with ?ticket= from POST /ticket
+     * for clients that cannot set headers.
+     * Returns 429 when the user already has the maximum number of open streams.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<SseEmitter> stream(@AuthenticationPrincipal User user) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            return ResponseEntity.ok()
+                    // Stop reverse proxies from buffering the stream
+                    .header("X-Accel-Buffering", "no")
+                    .body(subscriptionRegistry.subscribe(user.getEmail()));
+        } catch (IllegalStateException e) {
+            logger.warn("Rejected notification stream for {}: {}", user.getEmail(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.calendar.notifications;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Multi-node fanout over Redis pub/sub.
+ * Every node publishes changes to one channel and delivers the messages it
+ * receives (including its own) to its local subscribers.
+ */
+public class RedisChangeFanout implements ChangeFanout, MessageListener {
+
+    static final String CHANNEL = "calendar:changes";
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisChangeFanout.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SubscriptionRegistry subscriptionRegistry;
+
+    public RedisChangeFanout(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                             SubscriptionRegistry subscriptionRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.subscriptionRegistry = subscriptionRegistry;
+    }
+
+    @Override
+    public void publish(Collection<String> emails, ChangeNotificationDTO notification) {
+        try {
+            String payload = objectMapper.writeValueAsString(new Envelope(new ArrayList<>(emails), notification));
+            redisTemplate.convertAndSend(CHANNEL, payload);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize change notification", e);
+        } catch (RuntimeException e) {
+            // Notifications are hints; clients catch up on their next sync
+            logger.warn("Failed to publish change notification: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), Envelope.class);
+            subscriptionRegistry.deliver(envelope.getEmails(), envelope.getNotification());
+        } catch (IOException e) {
+            logger.warn("Ignoring malformed change notification: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wire format of a change notification on the channel
+     */
+    static class Envelope {
+        private List<String> emails;
+        private ChangeNotificationDTO notification;
+
+        public Envelope() {
+        }
+
+        Envelope(List<String> emails, ChangeNotificationDTO notification) {
+            this.emails = emails;
+            this.notification = notification;
+        }
+
+        public List<String> getEmails() {
+            return emails;
+        }
+
+        public void setEmails(List<String> emails) {
+            this.emails = emails;
+        }
+
+        public ChangeNotificationDTO getNotification() {
+            return notification;
+        }
+
+        public void setNotification(ChangeNotificationDTO notification) {
+            this.notification = notification;
+        }
+    }
+}
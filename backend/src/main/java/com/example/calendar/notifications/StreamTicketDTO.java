@@ -0,0 +1,33 @@
+package com.example.calendar.notifications;
+
+/**
+ * Short-lived token for opening the notification stream from a browser EventSource
+ */
+public class StreamTicketDTO {
+    private String ticket;
+    private long expiresInSeconds;
+
+    public StreamTicketDTO() {
+    }
+
+    public StreamTicketDTO(String ticket, long expiresInSeconds) {
+        this.ticket = ticket;
+        this.expiresInSeconds = expiresInSeconds;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(String ticket) {
+        this.ticket = ticket;
+    }
+
+    public long getExpiresInSeconds() {
+        return expiresInSeconds;
+    }
+
+    public void setExpiresInSeconds(long expiresInSeconds) {
+        this.expiresInSeconds = expiresInSeconds;
+    }
+}
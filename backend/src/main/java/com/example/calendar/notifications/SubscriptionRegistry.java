@@ -0,0 +1,155 @@
+package com.example.calendar.notifications;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event subscriptions of the users connected to this node.
+ * 
+ * Subscriptions are async servlet responses (SseEmitter), so an open connection
+ * holds no request thread. Notifications and heartbeats are written by a small
+ * shared dispatcher pool with a bounded queue; if the queue is full the
+ * notification is dropped, which is safe because clients treat notifications
+ * as hints and catch up with a delta sync.
+ */
+@Component
+public class SubscriptionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionRegistry.class);
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final long emitterTimeoutMs;
+    private final int maxConnectionsPerUser;
+    private final ThreadPoolExecutor dispatcher;
+
+    public SubscriptionRegistry(
+            @Value("${app.notifications.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${app.notifications.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${app.notifications.dispatch-threads:2}") int dispatchThreads,
+            @Value("${app.notifications.dispatch-queue-capacity:10000}") int dispatchQueueCapacity) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(dispatchQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "sse-dispatch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Open a subscription for a user
+     * @param email The user's email
+     * @return Emitter to return from the controller
+     * @throws IllegalStateException if the user already has the maximum number of connections
+     */
+    public SseEmitter subscribe(String email) {
+        String key = email.toLowerCase();
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+
+        subscribers.compute(key, (k, emitters) -> {
+            Set<SseEmitter> current = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            if (current.size() >= maxConnectionsPerUser) {
+                throw new IllegalStateException("Too many notification connections");
+            }
+            current.add(emitter);
+            return current;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(key, emitter));
+        emitter.onTimeout(() -> unsubscribe(key, emitter));
+        emitter.onError(e -> unsubscribe(key, emitter));
+
+        dispatch(emitter, () -> SseEmitter.event().name("ready").data("ok").reconnectTime(RECONNECT_DELAY_MS));
+        logger.debug("Notification subscription opened for {}", key);
+        return emitter;
+    }
+
+    /**
+     * Send a notification to this node's subscribers of the given users
+     * @param emails Lowercased emails of the users to notify
+     * @param notification The notification to send
+     */
+    public void deliver(Collection<String> emails, ChangeNotificationDTO notification) {
+        for (String email : emails) {
+            Set<SseEmitter> emitters = subscribers.get(email);
+            if (emitters == null) {
+                continue;
+            }
+            for (SseEmitter emitter : emitters) {
+                dispatch(emitter, () -> SseEmitter.event().name("change").data(notification));
+            }
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies and detect dead clients.
+     * Runs on the scheduler; writes go through the dispatcher pool.
+     */
+    @Scheduled(fixedRateString = "${app.notifications.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        for (Set<SseEmitter> emitters : subscribers.values()) {
+            for (SseEmitter emitter : emitters) {
+                dispatch(emitter, () -> SseEmitter.event().comment("keepalive"));
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        for (Set<SseEmitter> emitters : subscribers.values()) {
+            emitters.forEach(SseEmitter::complete);
+        }
+        subscribers.clear();
+    }
+
+    private void dispatch(SseEmitter emitter, EventFactory event) {
+        try {
+            dispatcher.execute(() -> {
+                try {
+                    emitter.send(event.create());
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; completing triggers the unsubscribe callback
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Notification dispatch queue full, dropping notification");
+        }
+    }
+
+    private void unsubscribe(String key, SseEmitter emitter) {
+        subscribers.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    @FunctionalInterface
+    private interface EventFactory {
+        SseEmitter.SseEventBuilder create();
+    }
+}
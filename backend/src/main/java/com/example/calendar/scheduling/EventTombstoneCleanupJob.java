@@ -0,0 +1,46 @@
+package com.example.calendar.scheduling;
+
+import com.example.calendar.events.EventTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Scheduled job that purges event tombstones older than the sync retention window.
+ * Sync tokens older than the window are rejected, so these rows are no longer needed.
+ */
+@Component
+public class EventTombstoneCleanupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventTombstoneCleanupJob.class);
+
+    private final EventTombstoneRepository eventTombstoneRepository;
+    private final int retentionDays;
+
+    public EventTombstoneCleanupJob(EventTombstoneRepository eventTombstoneRepository,
+                                    @Value("${app.sync.tombstone-retention-days:30}") int retentionDays) {
+        this.eventTombstoneRepository = eventTombstoneRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Runs daily at 03:30 server time.
+     * 
+     * Cron expression: "0 30 3 * * *"
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeExpiredTombstones() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        int removed = eventTombstoneRepository.deleteOlderThan(cutoff);
+        if (removed > 0) {
+            logger.info("Purged {} event tombstones older than {}", removed, cutoff);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.calendar.scheduling;
 import com.example.calendar.invitations.Invitation;
 import com.example.calendar.invitations.InvitationRepository;
 import com.example.calendar.invitations.InvitationStatus;
+import com.example.calendar.shared.CalendarMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -24,9 +25,11 @@ public class InvitationReminderJob {
     private static final int REMINDER_MINUTES_BEFORE = 10;
 
     private final InvitationRepository invitationRepository;
+    private final CalendarMetrics calendarMetrics;
 
-    public InvitationReminderJob(InvitationRepository invitationRepository) {
+    public InvitationReminderJob(InvitationRepository invitationRepository, CalendarMetrics calendarMetrics) {
         this.invitationRepository = invitationRepository;
+        this.calendarMetrics = calendarMetrics;
     }
 
     /**
@@ -39,15 +42,16 @@ public class InvitationReminderJob {
     @Transactional(readOnly = true)
     public void sendPendingInvitationReminders() {
         logger.debug("Running invitation reminder job");
+        long startNanos = calendarMetrics.tick();
 
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime reminderWindow = now.plusMinutes(REMINDER_MINUTES_BEFORE);
+        long remindersSent = 0;
 
         try {
             // Find all pending invitations
             List<Invitation> pendingInvitations = invitationRepository.findByStatus(InvitationStatus.PENDING);
 
-            long remindersSent = 0;
             for (Invitation invitation : pendingInvitations) {
                 LocalDateTime eventStartTime = LocalDateTime.ofInstant(
                     invitation.getEvent().getStartDateTime(),
@@ -68,6 +72,8 @@ public class InvitationReminderJob {
         } catch (Exception e) {
             logger.error("Error processing invitation reminders", e);
         }
+
+        calendarMetrics.recordReminderRun(remindersSent, startNanos);
     }
 
     /**
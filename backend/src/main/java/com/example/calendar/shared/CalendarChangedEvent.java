@@ -0,0 +1,94 @@
+package com.example.calendar.shared;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Application event published when events or invitations change.
+ * Carries the (lowercased) emails of every user whose calendar or invitation
+ * lists may look different afterwards: the organizer and the recipients.
+ * When known, it also carries the time window the change touched (covering
+ * both the old and new times of a moved event).
+ * Listeners run after the surrounding transaction commits.
+ */
+public class CalendarChangedEvent {
+
+    /**
+     * What changed; sent to subscribed clients so they can decide what to refresh
+     */
+    public enum Change {
+        EVENT_CREATED,
+        EVENT_UPDATED,
+        EVENT_DELETED,
+        INVITATION_RESPONDED,
+        PROPOSAL_ACCEPTED,
+        PROPOSAL_REJECTED,
+        PROPOSALS_SUPERSEDED,
+        EVENTS_IMPORTED
+    }
+
+    private final Change change;
+    private final UUID eventId;
+    private final Set<String> emails;
+    private final Instant windowStart;
+    private final Instant windowEnd;
+
+    public CalendarChangedEvent(Change change, UUID eventId, Collection<String> emails) {
+        this(change, eventId, emails, null, null);
+    }
+
+    public CalendarChangedEvent(Change change, UUID eventId, Collection<String> emails,
+                                Instant windowStart, Instant windowEnd) {
+        this.change = change;
+        this.eventId = eventId;
+        this.emails = emails.stream()
+                .filter(Objects::nonNull)
+                .map(String::toLowerCase)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    public static CalendarChangedEvent of(Change change, UUID eventId, String... emails) {
+        return new CalendarChangedEvent(change, eventId, Arrays.asList(emails));
+    }
+
+    public Change getChange() {
+        return change;
+    }
+
+    /**
+     * The affected event, or null when the change spans several events
+     */
+    public UUID getEventId() {
+        return eventId;
+    }
+
+    public Set<String> getEmails() {
+        return emails;
+    }
+
+    /**
+     * Start of the time window the change touched, or null when unknown
+     */
+    public Instant getWindowStart() {
+        return windowStart;
+    }
+
+    /**
+     * End of the time window the change touched, or null when unknown
+     */
+    public Instant getWindowEnd() {
+        return windowEnd;
+    }
+
+    public boolean hasWindow() {
+        return windowStart != null && windowEnd != null;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.calendar.shared;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business metrics for the hot service paths.
+ *
+ * Every meter is registered up front and kept in a field or array, so the
+ * record methods only take primitives and never allocate. Callers take a
+ * start time with {@link #tick()} and pass it back when the work is done.
+ * When app.metrics.enabled=false nothing is registered, tick() returns 0
+ * and every record method returns immediately.
+ */
+@Component
+public class CalendarMetrics {
+
+    /** Participant-count buckets used to tag availability timers */
+    static final String[] PARTICIPANT_BUCKETS = {"1", "2-5", "6-20", "21+"};
+
+    public enum EventQuery { RANGE, ALL, PAGE, SYNC }
+
+    public enum IcsStage { PARSE, CONVERT, PERSIST }
+
+    private final boolean enabled;
+    private final MeterRegistry registry;
+
+    private Timer[] availabilitySearchTimers;
+    private Timer[] availabilityCheckTimers;
+    private DistributionSummary availabilityParticipants;
+    private Timer[] eventQueryTimers;
+    private Timer[] icsStageTimers;
+    private Timer emailSuccessTimer;
+    private Timer emailFailureTimer;
+    private Timer reminderRunTimer;
+    private Counter remindersSent;
+    private Counter rateLimitRejections;
+    private Counter cacheInvalidationsSent;
+    private Counter cacheInvalidationsReceived;
+
+    public CalendarMetrics(MeterRegistry registry, @Value("${app.metrics.enabled:true}") boolean enabled) {
+        this.registry = registry;
+        this.enabled = enabled;
+        if (enabled) {
+            registerMeters();
+        }
+    }
+
+    private void registerMeters() {
+        availabilitySearchTimers = new Timer[PARTICIPANT_BUCKETS.length];
+        availabilityCheckTimers = new Timer[PARTICIPANT_BUCKETS.length];
+        for (int i = 0; i < PARTICIPANT_BUCKETS.length; i++) {
+            availabilitySearchTimers[i] = histogramTimer("calendar.availability.search",
+                    "Suggested slot search across participants", "participants", PARTICIPANT_BUCKETS[i]);
+            availabilityCheckTimers[i] = histogramTimer("calendar.availability.check",
+                    "Conflict check of a proposed time", "participants", PARTICIPANT_BUCKETS[i]);
+        }
+        availabilityParticipants = DistributionSummary.builder("calendar.availability.participants")
+                .description("Participants per availability request")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        eventQueryTimers = new Timer[EventQuery.values().length];
+        for (EventQuery query : EventQuery.values()) {
+            eventQueryTimers[query.ordinal()] = histogramTimer("calendar.events.query",
+                    "Event list queries", "query", query.name().toLowerCase());
+        }
+
+        icsStageTimers = new Timer[IcsStage.values().length];
+        for (IcsStage stage : IcsStage.values()) {
+            icsStageTimers[stage.ordinal()] = histogramTimer("calendar.ics.import",
+                    "ICS import stages", "stage", stage.name().toLowerCase());
+        }
+
+        emailSuccessTimer = histogramTimer("calendar.email.dispatch", "Email dispatch", "outcome", "success");
+        emailFailureTimer = histogramTimer("calendar.email.dispatch", "Email dispatch", "outcome", "failure");
+
+        reminderRunTimer = Timer.builder("calendar.reminders.run")
+                .description("Invitation reminder job runs")
+                .register(registry);
+        remindersSent = Counter.builder("calendar.reminders.sent")
+                .description("Invitation reminders sent")
+                .register(registry);
+        rateLimitRejections = Counter.builder("calendar.ratelimit.rejections")
+                .description("Requests rejected by the rate limiter")
+                .register(registry);
+        cacheInvalidationsSent = Counter.builder("calendar.cache.l2.invalidations")
+                .description("Second-level cache invalidations exchanged with other nodes")
+                .tag("direction", "sent")
+                .register(registry);
+        cacheInvalidationsReceived = Counter.builder("calendar.cache.l2.invalidations")
+                .description("Second-level cache invalidations exchanged with other nodes")
+                .tag("direction", "received")
+                .register(registry);
+    }
+
+    private Timer histogramTimer(String name, String description, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .description(description)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Start time for a measurement
+     * @return System.nanoTime(), or 0 when metrics are disabled
+     */
+    public long tick() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void recordAvailabilitySearch(int participants, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        record(availabilitySearchTimers[participantBucket(participants)], startNanos);
+        availabilityParticipants.record(participants);
+    }
+
+    public void recordAvailabilityCheck(int participants, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        record(availabilityCheckTimers[participantBucket(participants)], startNanos);
+        availabilityParticipants.record(participants);
+    }
+
+    public void recordEventQuery(EventQuery query, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        record(eventQueryTimers[query.ordinal()], startNanos);
+    }
+
+    public void recordIcsStage(IcsStage stage, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        record(icsStageTimers[stage.ordinal()], startNanos);
+    }
+
+    public void recordEmail(boolean success, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        record(success ? emailSuccessTimer : emailFailureTimer, startNanos);
+    }
+
+    public void recordReminderRun(long remindersSentCount, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        record(reminderRunTimer, startNanos);
+        remindersSent.increment(remindersSentCount);
+    }
+
+    public void recordRateLimitRejection() {
+        if (!enabled) {
+            return;
+        }
+        rateLimitRejections.increment();
+    }
+
+    public void recordCacheInvalidation(boolean received) {
+        if (!enabled) {
+            return;
+        }
+        (received ? cacheInvalidationsReceived : cacheInvalidationsSent).increment();
+    }
+
+    static int participantBucket(int participants) {
+        if (participants <= 1) {
+            return 0;
+        }
+        if (participants <= 5) {
+            return 1;
+        }
+        if (participants <= 20) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static void record(Timer timer, long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
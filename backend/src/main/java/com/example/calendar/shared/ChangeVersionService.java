@@ -0,0 +1,101 @@
+package com.example.calendar.shared;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Per-user change versions used to derive ETags for read endpoints.
+ * Each user (keyed by lowercased email) has an opaque version that is replaced
+ * after every committed change to their events or invitations. Read endpoints
+ * combine the version with their request parameters into a strong ETag, so a
+ * matching If-None-Match can be answered with 304 without touching the database.
+ * 
+ * Versions live in the "changeVersions" cache (shared through Redis when enabled).
+ * A missing entry, after eviction or restart, is replaced by a fresh version,
+ * which only costs clients one full response.
+ */
+@Service
+public class ChangeVersionService {
+
+    static final String CACHE_NAME = "changeVersions";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Get the current change version for a user, creating one if none is known
+     * @param email The user's email
+     * @return Opaque version string
+     */
+    public String currentVersion(String email) {
+        Cache cache = versions();
+        String key = email.toLowerCase();
+        String version = cache.get(key, String.class);
+        if (version != null) {
+            return version;
+        }
+        String created = newVersion();
+        Cache.ValueWrapper existing = cache.putIfAbsent(key, created);
+        return existing != null && existing.get() != null ? (String) existing.get() : created;
+    }
+
+    /**
+     * Build a weak ETag from a user's change version and the parameters
+     * that shape the response (path, range, timezone, paging...). Weak, since
+     * the same representation may be sent gzip-compressed or not (Tomcat
+     * does not compress responses carrying a strong ETag).
+     * @param email The user's email
+     * @param parts Response-shaping request values
+     * @return Weak ETag value
+     */
+    public String etag(String email, Object... parts) {
+        StringBuilder fingerprint = new StringBuilder(currentVersion(email));
+        for (Object part : parts) {
+            fingerprint.append('|').append(part);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Replace the versions of every affected user once the change has committed,
+     * so a concurrent reader can never cache the old content under the new version.
+     * Runs before change notifications go out, so notified clients see the new ETag.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChanged(CalendarChangedEvent event) {
+        Cache cache = versions();
+        for (String email : event.getEmails()) {
+            cache.put(email, newVersion());
+        }
+    }
+
+    private Cache versions() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            throw new IllegalStateException("Cache '" + CACHE_NAME + "' is not configured");
+        }
+        return cache;
+    }
+
+    private static String newVersion() {
+        return UUID.randomUUID().toString();
+    }
+}
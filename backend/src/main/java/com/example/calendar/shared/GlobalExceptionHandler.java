@@ -129,6 +129,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
     }
 
+    /**
+     * Rethrown unhandled: appending an error body to a committed stream would
+     * corrupt it, the container aborting the connection signals the failure
+     */
+    @ExceptionHandler(StreamAbortedException.class)
+    public void handleStreamAborted(StreamAbortedException ex) {
+        throw ex;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex,
@@ -0,0 +1,64 @@
+package com.example.calendar.shared;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque cursor for keyset (seek) pagination over an (instant, id) sort key.
+ * The last row of a page is encoded into the cursor, and the next page is
+ * read with a "WHERE (instant, id) > cursor" predicate instead of an OFFSET,
+ * so deep pages cost the same as the first one.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Instant instant;
+    private final UUID id;
+
+    public KeysetCursor(Instant instant, UUID id) {
+        this.instant = instant;
+        this.id = id;
+    }
+
+    public Instant getInstant() {
+        return instant;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Encode the cursor as a URL-safe token
+     * @return Opaque cursor string
+     */
+    public String encode() {
+        String raw = instant.toEpochMilli() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}
+     * @param token Opaque cursor string
+     * @return The decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            Instant instant = Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator)));
+            UUID id = UUID.fromString(raw.substring(separator + 1));
+            return new KeysetCursor(instant, id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
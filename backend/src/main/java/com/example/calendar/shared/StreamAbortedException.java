@@ -0,0 +1,13 @@
+package com.example.calendar.shared;
+
+/**
+ * A streamed response failed after part of it was sent. No error body can be
+ * written any more, so GlobalExceptionHandler lets it reach the servlet
+ * container, which aborts the connection and the client sees the failure.
+ */
+public class StreamAbortedException extends RuntimeException {
+
+    public StreamAbortedException(Throwable cause) {
+        super("Streamed response failed after it was committed", cause);
+    }
+}
@@ -146,4 +146,24 @@ public class TimeUtils {
     public static boolean rangesOverlap(Instant start1, Instant end1, Instant start2, Instant end2) {
         return !start1.isAfter(end2) && !end1.isBefore(start2);
     }
+
+    /**
+     * Earlier of two instants, ignoring nulls
+     * @return The earlier instant, or null if both are null
+     */
+    public static Instant earlier(Instant a, Instant b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Later of two instants, ignoring nulls
+     * @return The later instant, or null if both are null
+     */
+    public static Instant later(Instant a, Instant b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
 }
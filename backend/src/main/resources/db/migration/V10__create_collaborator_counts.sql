@@ -0,0 +1,18 @@
+-- How often each organizer has invited each address, maintained as invitations
+-- are created so collaborator suggestions never aggregate the invitations table.
+CREATE TABLE IF NOT EXISTS collaborator_counts (
+    organizer_id BINARY(16) NOT NULL,
+    collaborator_email VARCHAR(320) NOT NULL,   -- lowercased
+    collaboration_count INT NOT NULL,
+    last_seen TIMESTAMP NOT NULL,               -- latest invitation
+    PRIMARY KEY (organizer_id, collaborator_email),
+    INDEX idx_collaborator_counts_top (organizer_id, collaboration_count, last_seen),
+    FOREIGN KEY (organizer_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill from existing invitations
+INSERT INTO collaborator_counts (organizer_id, collaborator_email, collaboration_count, last_seen)
+SELECT e.organizer_id, LOWER(i.recipient_email), COUNT(*), MAX(i.created_at)
+FROM invitations i
+JOIN events e ON i.event_id = e.id
+GROUP BY e.organizer_id, LOWER(i.recipient_email);
@@ -0,0 +1,3 @@
+-- A user's accepted invitations are read on every calendar load; the index
+-- resolves them by (recipient_email, status) and hands the event ids to the join
+CREATE INDEX idx_recipient_status ON invitations (recipient_email, status, event_id);
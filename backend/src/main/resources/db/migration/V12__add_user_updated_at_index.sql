@@ -0,0 +1,3 @@
+-- People search refreshes its directory every few seconds from the users
+-- updated since a watermark; the index keeps that a range read
+CREATE INDEX idx_updated_at ON users (updated_at);
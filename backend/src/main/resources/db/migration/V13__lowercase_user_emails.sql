@@ -0,0 +1,4 @@
+-- Users are looked up by email through Hibernate's natural-id cache, which
+-- matches the stored value exactly; new emails are stored lowercased.
+-- The column collation is case-insensitive, so no two rows can collide.
+UPDATE users SET email = LOWER(email) WHERE email <> LOWER(email) COLLATE utf8mb4_bin;
@@ -0,0 +1,3 @@
+-- Composite index so per-event status counts (invitation summary)
+-- are resolved from the index without touching invitation rows
+CREATE INDEX idx_event_status ON invitations (event_id, status);
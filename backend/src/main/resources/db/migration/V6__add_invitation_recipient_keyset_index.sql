@@ -0,0 +1,2 @@
+-- Supports newest-first keyset pagination of a recipient's invitations
+CREATE INDEX idx_recipient_created ON invitations (recipient_email, created_at, id);
@@ -0,0 +1,7 @@
+-- Lowercased recipient email maintained by MySQL, so access checks can use an
+-- indexed equality lookup instead of loading every invitation of an event
+ALTER TABLE invitations
+    ADD COLUMN recipient_email_normalized VARCHAR(320)
+        GENERATED ALWAYS AS (LOWER(recipient_email)) STORED;
+
+CREATE INDEX idx_event_recipient_normalized ON invitations (event_id, recipient_email_normalized);
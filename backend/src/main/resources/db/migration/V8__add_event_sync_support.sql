@@ -0,0 +1,17 @@
+-- Delta sync: deletions are recorded as tombstones so clients holding a sync
+-- token can learn which events disappeared, and changes are found by
+-- updated_at through per-owner indexes instead of re-reading whole ranges.
+CREATE TABLE IF NOT EXISTS event_tombstones (
+    id BINARY(16) PRIMARY KEY,
+    event_id BINARY(16) NOT NULL,
+    organizer_id BINARY(16) NOT NULL,
+    recipient_email VARCHAR(320) NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_tombstone_organizer_deleted (organizer_id, deleted_at),
+    INDEX idx_tombstone_recipient_deleted (recipient_email, deleted_at),
+    INDEX idx_tombstone_deleted (deleted_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_organizer_updated ON events (organizer_id, updated_at);
+
+CREATE INDEX idx_recipient_updated ON invitations (recipient_email, updated_at);
@@ -0,0 +1,11 @@
+-- Per-user working hours for the availability search. Users without a row
+-- are treated as working 09:00-17:00, Monday to Friday, in their own timezone.
+CREATE TABLE IF NOT EXISTS working_hours (
+    user_id BINARY(16) PRIMARY KEY,
+    weekday_mask INT NOT NULL,          -- bit 0 = Monday ... bit 6 = Sunday
+    start_minute INT NOT NULL,          -- minutes after local midnight
+    end_minute INT NOT NULL,            -- at or before start_minute for overnight shifts
+    timezone VARCHAR(50) NULL,          -- NULL follows users.timezone
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
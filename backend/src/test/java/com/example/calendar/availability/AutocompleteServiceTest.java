@@ -0,0 +1,181 @@
+package com.example.calendar.availability;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.auth.UserRepository;
+import com.example.calendar.invitations.CollaboratorCountRepository;
+import com.example.calendar.shared.ChangeVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceTest {
+
+    private static final Instant LOADED = Instant.parse("2025-01-06T09:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CollaboratorCountRepository collaboratorCountRepository;
+
+    private AutocompleteService service;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        ChangeVersionService changeVersionService = new ChangeVersionService();
+        ReflectionTestUtils.setField(changeVersionService, "cacheManager", new ConcurrentMapCacheManager("changeVersions"));
+        service = new AutocompleteService();
+        ReflectionTestUtils.setField(service, "userRepository", userRepository);
+        ReflectionTestUtils.setField(service, "collaboratorCountRepository", collaboratorCountRepository);
+        ReflectionTestUtils.setField(service, "changeVersionService", changeVersionService);
+
+        alice = new User();
+        alice.setId(UUID.randomUUID());
+        alice.setEmail("alice@example.com");
+
+        lenient().when(collaboratorCountRepository.findAllCollaborators(eq(alice.getId()), any(Pageable.class)))
+            .thenReturn(List.of(
+                collaborator("anna@partner.org", null, 2),
+                collaborator("andrew@example.com", "Andrew Stone", 5)));
+    }
+
+    @Test
+    void search_shouldRankCollaboratorsFirstThenOtherUsersAndSkipSelf() {
+        when(userRepository.count()).thenReturn(4L);
+        when(userRepository.findDirectoryChangedSince(Instant.EPOCH)).thenReturn(List.of(
+            entry("alice@example.com", "Alice Archer", LOADED),
+            entry("andrew@example.com", "Andrew Stone", LOADED),
+            entry("zoe@example.com", "Zoe Adams", LOADED),
+            entry("bob@example.com", "Bob Brown", LOADED)));
+        service.refreshDirectory();
+
+        List<CollaboratorDTO> results = service.search(alice, " A", 10);
+
+        assertThat(results).extracting(CollaboratorDTO::getEmail)
+            .containsExactly("andrew@example.com", "anna@partner.org", "zoe@example.com");
+        assertThat(results.get(0).getCollaborationCount()).isEqualTo(5);
+        assertThat(results.get(2).getCollaborationCount()).isZero();
+    }
+
+    @Test
+    void search_shouldReturnTheFirstUsersByNameNotByIndexKey() {
+        when(userRepository.count()).thenReturn(3L);
+        when(userRepository.findDirectoryChangedSince(Instant.EPOCH)).thenReturn(List.of(
+            entry("b1@example.com", "Bz Last", LOADED),
+            entry("b2@example.com", "By Middle", LOADED),
+            entry("zed@example.com", "Ba First", LOADED)));
+        service.refreshDirectory();
+
+        // The email keys of the first two sort before every name key
+        assertThat(service.search(alice, "b", 2)).extracting(CollaboratorDTO::getDisplayName)
+            .containsExactly("Ba First", "By Middle");
+    }
+
+    @Test
+    void refreshDirectory_shouldFindRenamedUsersByTheirNewNameOnly() {
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.findDirectoryChangedSince(Instant.EPOCH)).thenReturn(List.of(
+            entry("bob@example.com", "Bob Brown", LOADED)));
+        service.refreshDirectory();
+        UserRepository.DirectoryEntry renamed = entry("bob@example.com", "Robert Green", LOADED.plusSeconds(600));
+        when(userRepository.findDirectoryChangedSince(any(Instant.class))).thenReturn(List.of(renamed));
+        service.refreshDirectory();
+
+        assertThat(service.search(alice, "gre", 10)).extracting(CollaboratorDTO::getDisplayName)
+            .containsExactly("Robert Green");
+        assertThat(service.search(alice, "brown", 10)).isEmpty();
+        verify(userRepository, never()).searchByPrefix(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void search_shouldQueryTheDatabaseWhenThereAreTooManyUsersToIndex() {
+        ReflectionTestUtils.setField(service, "maxUsers", 2);
+        when(userRepository.count()).thenReturn(3L);
+        User zoe = new User();
+        zoe.setId(UUID.randomUUID());
+        zoe.setEmail("zoe_a@example.com");
+        zoe.setDisplayName("Zoe Adams");
+        when(userRepository.searchByPrefix(eq("zoe\\_"), any(Pageable.class))).thenReturn(List.of(zoe));
+        service.refreshDirectory();
+
+        List<CollaboratorDTO> results = service.search(alice, "Zoe_", 10);
+
+        assertThat(results).extracting(CollaboratorDTO::getEmail).containsExactly("zoe_a@example.com");
+        verify(userRepository, never()).findDirectoryChangedSince(any(Instant.class));
+    }
+
+    @Test
+    void search_shouldReuseTheCollaboratorIndexUntilTheVersionChanges() {
+        service.refreshDirectory();
+        service.search(alice, "an", 10);
+        service.search(alice, "and", 10);
+
+        verify(collaboratorCountRepository, times(1)).findAllCollaborators(eq(alice.getId()), any(Pageable.class));
+    }
+
+    private static CollaboratorCountRepository.TopCollaborator collaborator(String email, String name, int count) {
+        return new CollaboratorCountRepository.TopCollaborator() {
+            public String getEmail() {
+                return email;
+            }
+
+            public String getDisplayName() {
+                return name;
+            }
+
+            public String getTimezone() {
+                return null;
+            }
+
+            public Integer getCount() {
+                return count;
+            }
+        };
+    }
+
+    private static UserRepository.DirectoryEntry entry(String email, String name, Instant updatedAt) {
+        UUID id = UUID.nameUUIDFromBytes(email.getBytes());
+        return new UserRepository.DirectoryEntry() {
+            public UUID getId() {
+                return id;
+            }
+
+            public String getEmail() {
+                return email;
+            }
+
+            public String getDisplayName() {
+                return name;
+            }
+
+            public String getTimezone() {
+                return "UTC";
+            }
+
+            public Instant getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
@@ -4,12 +4,16 @@ import com.example.calendar.auth.User;
 import com.example.calendar.auth.UserRepository;
 import com.example.calendar.events.Event;
 import com.example.calendar.events.EventRepository;
+import com.example.calendar.shared.CalendarMetrics;
+import com.example.calendar.shared.ChangeVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -18,6 +22,7 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +34,12 @@ class AvailabilityServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CalendarMetrics calendarMetrics;
+
+    @Mock
+    private WorkingHoursService workingHoursService;
+
     @InjectMocks
     private AvailabilityService availabilityService;
 
@@ -52,13 +63,24 @@ class AvailabilityServiceTest {
         participant2.setId(UUID.randomUUID());
         participant2.setEmail("participant2@example.com");
         participant2.setTimezone("America/New_York");
+
+        lenient().when(workingHoursService.getProfile(any(User.class)))
+            .thenAnswer(invocation -> WorkingHoursProfile.defaultFor(invocation.<User>getArgument(0).getTimezone()));
+
+        // Real free/busy store over the mocked repository
+        ChangeVersionService changeVersionService = new ChangeVersionService();
+        ReflectionTestUtils.setField(changeVersionService, "cacheManager", new ConcurrentMapCacheManager("changeVersions"));
+        FreeBusyStore freeBusyStore = new FreeBusyStore();
+        ReflectionTestUtils.setField(freeBusyStore, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(freeBusyStore, "changeVersionService", changeVersionService);
+        ReflectionTestUtils.setField(availabilityService, "freeBusyStore", freeBusyStore);
     }
 
     @Test
     void testFindAvailableSlots_Success() {
         // Arrange
-        Instant start = Instant.parse("2024-12-01T14:00:00Z"); // 9 AM EST
-        Instant end = Instant.parse("2024-12-01T22:00:00Z");   // 5 PM EST
+        Instant start = Instant.parse("2024-12-02T14:00:00Z"); // 9 AM EST
+        Instant end = Instant.parse("2024-12-02T22:00:00Z");   // 5 PM EST
         
         AvailabilityRequestDTO request = new AvailabilityRequestDTO();
         request.setParticipantEmails(Arrays.asList("participant1@example.com", "participant2@example.com"));
@@ -89,8 +111,8 @@ class AvailabilityServiceTest {
     @Test
     void testFindAvailableSlots_NoConflicts_ReturnsMultipleSuggestions() {
         // Arrange
-        Instant start = Instant.parse("2024-12-01T14:00:00Z");
-        Instant end = Instant.parse("2024-12-01T20:00:00Z"); // 6 hours
+        Instant start = Instant.parse("2024-12-02T14:00:00Z");
+        Instant end = Instant.parse("2024-12-02T20:00:00Z"); // 6 hours
         
         AvailabilityRequestDTO request = new AvailabilityRequestDTO();
         request.setParticipantEmails(List.of("participant1@example.com"));
@@ -113,8 +135,8 @@ class AvailabilityServiceTest {
     @Test
     void testFindAvailableSlots_WithConflicts_FiltersOutBusyTimes() {
         // Arrange
-        Instant start = Instant.parse("2024-12-01T14:00:00Z"); // 9 AM EST
-        Instant end = Instant.parse("2024-12-01T18:00:00Z");   // 1 PM EST
+        Instant start = Instant.parse("2024-12-02T14:00:00Z"); // 9 AM EST
+        Instant end = Instant.parse("2024-12-02T18:00:00Z");   // 1 PM EST
         
         AvailabilityRequestDTO request = new AvailabilityRequestDTO();
         request.setParticipantEmails(List.of("participant1@example.com"));
@@ -124,8 +146,8 @@ class AvailabilityServiceTest {
 
         // Participant has a meeting from 10 AM to 11 AM EST (15:00-16:00 UTC)
         Event conflictingEvent = new Event();
-        conflictingEvent.setStartDateTime(Instant.parse("2024-12-01T15:00:00Z"));
-        conflictingEvent.setEndDateTime(Instant.parse("2024-12-01T16:00:00Z"));
+        conflictingEvent.setStartDateTime(Instant.parse("2024-12-02T15:00:00Z"));
+        conflictingEvent.setEndDateTime(Instant.parse("2024-12-02T16:00:00Z"));
 
         when(userRepository.findByEmail("participant1@example.com")).thenReturn(Optional.of(participant1));
         when(eventRepository.findByOrganizerAndDateRange(eq(participant1.getId()), any(Instant.class), any(Instant.class)))
@@ -148,8 +170,8 @@ class AvailabilityServiceTest {
     @Test
     void testFindAvailableSlots_NoCommonSlots_ReturnsEmpty() {
         // Arrange
-        Instant start = Instant.parse("2024-12-01T14:00:00Z");
-        Instant end = Instant.parse("2024-12-01T16:00:00Z"); // Only 2-hour window
+        Instant start = Instant.parse("2024-12-02T14:00:00Z");
+        Instant end = Instant.parse("2024-12-02T16:00:00Z"); // Only 2-hour window
         
         AvailabilityRequestDTO request = new AvailabilityRequestDTO();
         request.setParticipantEmails(List.of("participant1@example.com"));
@@ -240,8 +262,8 @@ class AvailabilityServiceTest {
     @Test
     void testPerformance_MultipleParticipants() {
         // Arrange
-        Instant start = Instant.parse("2024-12-01T14:00:00Z");
-        Instant end = Instant.parse("2024-12-01T22:00:00Z");
+        Instant start = Instant.parse("2024-12-02T14:00:00Z");
+        Instant end = Instant.parse("2024-12-02T22:00:00Z");
         
         List<String> participants = new ArrayList<>();
         for (int i = 0; i < 10; i++) {
@@ -279,8 +301,8 @@ class AvailabilityServiceTest {
     @Test
     void testSlotScoring_EarlierSlotsScoreHigher() {
         // Arrange
-        Instant start = Instant.parse("2024-12-01T14:00:00Z");
-        Instant end = Instant.parse("2024-12-01T20:00:00Z");
+        Instant start = Instant.parse("2024-12-02T14:00:00Z");
+        Instant end = Instant.parse("2024-12-02T20:00:00Z");
         
         AvailabilityRequestDTO request = new AvailabilityRequestDTO();
         request.setParticipantEmails(List.of("participant1@example.com"));
@@ -308,4 +330,40 @@ class AvailabilityServiceTest {
         assertTrue(firstSlot.getScore() > lastSlot.getScore(),
             "Earlier slots should have higher scores");
     }
+
+    @Test
+    void testCheckParticipantsAvailability_Parallel_MarksSlowParticipantUnevaluated() {
+        ReflectionTestUtils.setField(availabilityService, "parallelEnabled", true);
+        ReflectionTestUtils.setField(availabilityService, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(availabilityService, "deadlineMs", 300L);
+        availabilityService.startParticipantExecutor();
+        try {
+            Instant start = Instant.parse("2024-12-02T15:00:00Z");
+            Instant end = start.plus(1, ChronoUnit.HOURS);
+
+            when(userRepository.findByEmail("participant1@example.com")).thenReturn(Optional.of(participant1));
+            when(userRepository.findByEmail("participant2@example.com")).thenAnswer(invocation -> {
+                Thread.sleep(5_000);
+                return Optional.of(participant2);
+            });
+            when(eventRepository.findByOrganizerAndDateRange(eq(participant1.getId()), any(Instant.class), any(Instant.class)))
+                .thenReturn(Collections.emptyList());
+
+            long began = System.nanoTime();
+            List<AvailabilityDTO> results = availabilityService.checkParticipantsAvailability(
+                start, end, List.of("participant1@example.com", "participant2@example.com"));
+            long elapsedMs = (System.nanoTime() - began) / 1_000_000;
+
+            assertEquals(2, results.size());
+            assertEquals("participant1@example.com", results.get(0).getParticipantEmail());
+            assertTrue(results.get(0).isEvaluated());
+            assertTrue(results.get(0).isAvailable());
+            assertEquals("participant2@example.com", results.get(1).getParticipantEmail());
+            assertFalse(results.get(1).isEvaluated());
+            assertFalse(results.get(1).isAvailable());
+            assertTrue(elapsedMs < 2_000, "Should return at the deadline, took " + elapsedMs + "ms");
+        } finally {
+            availabilityService.stopParticipantExecutor();
+        }
+    }
 }
@@ -0,0 +1,172 @@
+package com.example.calendar.availability;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.events.Event;
+import com.example.calendar.events.EventRepository;
+import com.example.calendar.shared.CalendarChangedEvent;
+import com.example.calendar.shared.ChangeVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FreeBusyStoreTest {
+
+    private static final Instant MONDAY = Instant.parse("2025-01-06T00:00:00Z");
+    private static final Instant SATURDAY = Instant.parse("2025-01-11T00:00:00Z");
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private ChangeVersionService changeVersionService;
+    private FreeBusyStore store;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        changeVersionService = new ChangeVersionService();
+        ReflectionTestUtils.setField(changeVersionService, "cacheManager", new ConcurrentMapCacheManager("changeVersions"));
+        store = new FreeBusyStore();
+        ReflectionTestUtils.setField(store, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(store, "changeVersionService", changeVersionService);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("Alice@example.com");
+
+        lenient().when(eventRepository.findAcceptedInvitationsInRange(any(UUID.class), anyString(), any(Instant.class), any(Instant.class)))
+            .thenReturn(List.of());
+    }
+
+    @Test
+    void getBusy_shouldCoalesceEventsAcrossMidnightAndServeRepeatsFromMemory() {
+        when(eventRepository.findByOrganizerAndDateRange(eq(user.getId()), any(Instant.class), any(Instant.class)))
+            .thenReturn(List.of(
+                event("2025-01-06T09:00:00Z", "2025-01-06T10:00:00Z"),
+                event("2025-01-06T09:30:00Z", "2025-01-06T11:00:00Z"),
+                event("2025-01-06T23:00:00Z", "2025-01-07T01:00:00Z")));
+
+        BusyIntervals busy = store.getBusy(user, MONDAY, SATURDAY);
+        BusyIntervals again = store.getBusy(user, at("2025-01-06T08:00:00Z"), at("2025-01-07T08:00:00Z"));
+
+        assertThat(busy.size()).isEqualTo(2);
+        assertThat(busy.overlaps(at("2025-01-06T10:30:00Z"), at("2025-01-06T10:45:00Z"))).isTrue();
+        assertThat(busy.overlaps(at("2025-01-06T11:00:00Z"), at("2025-01-06T12:00:00Z"))).isFalse();
+        assertThat(again.overlaps(at("2025-01-07T00:30:00Z"), at("2025-01-07T02:00:00Z"))).isTrue();
+        verify(eventRepository, times(1)).findByOrganizerAndDateRange(any(UUID.class), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void onCalendarChanged_shouldReloadOnlyTheDaysInTheWindow() {
+        when(eventRepository.findByOrganizerAndDateRange(eq(user.getId()), any(Instant.class), any(Instant.class)))
+            .thenReturn(List.of())
+            .thenReturn(List.of(event("2025-01-08T14:00:00Z", "2025-01-08T15:00:00Z")));
+        store.getBusy(user, MONDAY, SATURDAY);
+
+        publish(CalendarChangedEvent.Change.EVENT_CREATED, at("2025-01-08T14:00:00Z"), at("2025-01-08T15:00:00Z"));
+        BusyIntervals busy = store.getBusy(user, MONDAY, SATURDAY);
+
+        assertThat(busy.overlaps(at("2025-01-08T14:30:00Z"), at("2025-01-08T15:30:00Z"))).isTrue();
+        verify(eventRepository).findByOrganizerAndDateRange(user.getId(), at("2025-01-08T00:00:00Z"), at("2025-01-09T00:00:00Z"));
+    }
+
+    @Test
+    void onCalendarChanged_shouldKeepDaysWhenBusyTimeCannotHaveChanged() {
+        when(eventRepository.findByOrganizerAndDateRange(eq(user.getId()), any(Instant.class), any(Instant.class)))
+            .thenReturn(List.of());
+        store.getBusy(user, MONDAY, SATURDAY);
+
+        publish(CalendarChangedEvent.Change.PROPOSAL_REJECTED, null, null);
+        store.getBusy(user, MONDAY, SATURDAY);
+
+        verify(eventRepository, times(1)).findByOrganizerAndDateRange(any(UUID.class), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void getBusy_shouldDropDaysWhenTheVersionMovedOnElsewhere() {
+        when(eventRepository.findByOrganizerAndDateRange(eq(user.getId()), any(Instant.class), any(Instant.class)))
+            .thenReturn(List.of());
+        store.getBusy(user, MONDAY, SATURDAY);
+
+        // Another instance replaced the version; this store never saw the change
+        changeVersionService.onCalendarChanged(CalendarChangedEvent.of(
+            CalendarChangedEvent.Change.EVENT_DELETED, UUID.randomUUID(), user.getEmail()));
+        store.getBusy(user, MONDAY, SATURDAY);
+
+        verify(eventRepository, times(2)).findByOrganizerAndDateRange(user.getId(), MONDAY, SATURDAY);
+    }
+
+    @Test
+    void getBusyForMany_shouldLoadOnlyUsersWithMissingDaysInOneBatch() {
+        User bob = new User();
+        bob.setId(UUID.randomUUID());
+        bob.setEmail("bob@example.com");
+        when(eventRepository.findByOrganizerAndDateRange(eq(user.getId()), any(Instant.class), any(Instant.class)))
+            .thenReturn(List.of(event("2025-01-07T09:00:00Z", "2025-01-07T10:00:00Z")));
+        store.getBusy(user, MONDAY, SATURDAY);
+        when(eventRepository.findOrganizedBusyInRange(List.of(bob.getId()), MONDAY, SATURDAY))
+            .thenReturn(List.of(row("BOB@example.com", "2025-01-08T13:00:00Z", "2025-01-08T14:00:00Z")));
+        when(eventRepository.findAcceptedBusyInRange(List.of("bob@example.com"), MONDAY, SATURDAY))
+            .thenReturn(List.of(row("bob@example.com", "2025-01-08T13:30:00Z", "2025-01-08T15:00:00Z")));
+
+        Map<String, BusyIntervals> busy = store.getBusy(List.of(user, bob), MONDAY, SATURDAY);
+
+        assertThat(busy).containsOnlyKeys("alice@example.com", "bob@example.com");
+        assertThat(busy.get("alice@example.com").overlaps(at("2025-01-07T09:30:00Z"), at("2025-01-07T09:45:00Z"))).isTrue();
+        assertThat(busy.get("bob@example.com").size()).isEqualTo(1);
+        assertThat(busy.get("bob@example.com").overlaps(at("2025-01-08T14:30:00Z"), at("2025-01-08T16:00:00Z"))).isTrue();
+        verify(eventRepository, times(1)).findOrganizedBusyInRange(any(), any(Instant.class), any(Instant.class));
+    }
+
+    private void publish(CalendarChangedEvent.Change change, Instant windowStart, Instant windowEnd) {
+        CalendarChangedEvent event = new CalendarChangedEvent(
+            change, UUID.randomUUID(), List.of(user.getEmail()), windowStart, windowEnd);
+        changeVersionService.onCalendarChanged(event);
+        store.onCalendarChanged(event);
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+
+    private static EventRepository.BusyRow row(String email, String start, String end) {
+        return new EventRepository.BusyRow() {
+            public String getEmail() {
+                return email;
+            }
+
+            public Instant getStartDateTime() {
+                return at(start);
+            }
+
+            public Instant getEndDateTime() {
+                return at(end);
+            }
+        };
+    }
+
+    private static Event event(String start, String end) {
+        Event event = new Event();
+        event.setStartDateTime(at(start));
+        event.setEndDateTime(at(end));
+        return event;
+    }
+}
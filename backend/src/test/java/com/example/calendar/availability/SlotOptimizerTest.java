@@ -0,0 +1,126 @@
+package com.example.calendar.availability;
+
+import com.example.calendar.events.Event;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotOptimizerTest {
+
+    private static final WorkingHoursProfile UTC = WorkingHoursProfile.defaultFor("UTC");
+    private static final Instant MONDAY = Instant.parse("2025-01-06T00:00:00Z");
+
+    @Test
+    void rank_shouldReturnBestPartialSlotWhenNobodyIsFreeTogether() {
+        // alice is busy in the morning, bob in the afternoon
+        SlotOptimizer.Attendee alice = SlotOptimizer.Attendee.of("alice@example.com", true, UTC,
+                busy(event("2025-01-06T09:00:00Z", "2025-01-06T13:00:00Z")));
+        SlotOptimizer.Attendee bob = SlotOptimizer.Attendee.of("bob@example.com", true, UTC,
+                busy(event("2025-01-06T12:00:00Z", "2025-01-06T17:00:00Z")));
+        SlotOptimizer.Attendee carol = SlotOptimizer.Attendee.of("carol@example.com", false, UTC,
+                BusyIntervals.EMPTY);
+
+        List<RankedSlotDTO> ranked = new SlotOptimizer(Duration.ofHours(1), Duration.ofMinutes(30), 3)
+                .rank(List.of(alice, bob, carol), at("2025-01-06T09:00:00Z"), at("2025-01-06T17:00:00Z"));
+
+        assertThat(ranked).hasSize(3);
+        RankedSlotDTO best = ranked.get(0);
+        assertThat(best.getRequiredTotal()).isEqualTo(2);
+        assertThat(best.getRequiredAvailable()).isEqualTo(1);
+        assertThat(best.getOptionalAvailable()).isEqualTo(1);
+        assertThat(best.getUnavailableParticipants()).hasSize(1);
+        assertThat(best.getScore()).isLessThan(100.0);
+    }
+
+    @Test
+    void rank_shouldPreferSlotsInsideEveryonesBusinessHours() {
+        // 09:00-17:00 in London and New York overlap only at 14:00-17:00 UTC in January
+        SlotOptimizer.Attendee london = SlotOptimizer.Attendee.of("london@example.com", true,
+                WorkingHoursProfile.defaultFor("Europe/London"), BusyIntervals.EMPTY);
+        SlotOptimizer.Attendee newYork = SlotOptimizer.Attendee.of("ny@example.com", true,
+                WorkingHoursProfile.defaultFor("America/New_York"), BusyIntervals.EMPTY);
+
+        List<RankedSlotDTO> ranked = new SlotOptimizer(Duration.ofHours(1), Duration.ofMinutes(30), 5)
+                .rank(List.of(london, newYork), MONDAY, MONDAY.plus(Duration.ofDays(1)));
+
+        assertThat(ranked).hasSize(5);
+        assertThat(ranked.get(0).getStartTime()).isEqualTo(at("2025-01-06T14:00:00Z"));
+        assertThat(ranked.get(0).getScore()).isGreaterThan(99.0);
+        for (RankedSlotDTO slot : ranked) {
+            assertThat(slot.getStartTime()).isBetween(at("2025-01-06T14:00:00Z"), at("2025-01-06T16:00:00Z"));
+            assertThat(slot.getOutsideBusinessHours()).isEmpty();
+        }
+    }
+
+    @Test
+    void rank_shouldPenalizeSlotsLeavingShortGaps() {
+        SlotOptimizer.Attendee alice = SlotOptimizer.Attendee.of("alice@example.com", true, UTC,
+                busy(event("2025-01-06T09:00:00Z", "2025-01-06T09:45:00Z"),
+                        event("2025-01-06T11:00:00Z", "2025-01-06T12:00:00Z")));
+
+        List<RankedSlotDTO> ranked = new SlotOptimizer(Duration.ofMinutes(30), Duration.ofMinutes(30), 20)
+                .rank(List.of(alice), at("2025-01-06T09:00:00Z"), at("2025-01-06T13:00:00Z"));
+
+        RankedSlotDTO adjacent = find(ranked, "2025-01-06T10:30:00Z");
+        RankedSlotDTO sliver = find(ranked, "2025-01-06T10:00:00Z");
+        assertThat(adjacent.getScore()).isGreaterThan(sliver.getScore());
+    }
+
+    @Test
+    void rank_shouldKeepOnlyTopKBestFirst() {
+        SlotOptimizer.Attendee alice = SlotOptimizer.Attendee.of("alice@example.com", true, UTC,
+                BusyIntervals.EMPTY);
+
+        List<RankedSlotDTO> ranked = new SlotOptimizer(Duration.ofHours(1), Duration.ofMinutes(30), 4)
+                .rank(List.of(alice), MONDAY, MONDAY.plus(Duration.ofDays(7)));
+
+        assertThat(ranked).hasSize(4);
+        for (int i = 1; i < ranked.size(); i++) {
+            assertThat(ranked.get(i - 1).getScore()).isGreaterThanOrEqualTo(ranked.get(i).getScore());
+        }
+        assertThat(ranked.get(0).getStartTime()).isEqualTo(at("2025-01-06T09:00:00Z"));
+    }
+
+    @Test
+    void rank_shouldOnlyOfferTimesWhenARequiredAttendeeIsWorking() {
+        // Works Saturdays only, 10:00-12:00 UTC
+        WorkingHoursProfile saturdays = new WorkingHoursProfile(0b0100000, 10 * 60, 12 * 60, "UTC");
+        SlotOptimizer.Attendee alice = SlotOptimizer.Attendee.of("alice@example.com", true, saturdays,
+                BusyIntervals.EMPTY);
+        SlotOptimizer.Attendee bob = SlotOptimizer.Attendee.of("bob@example.com", false, UTC,
+                BusyIntervals.EMPTY);
+
+        List<RankedSlotDTO> ranked = new SlotOptimizer(Duration.ofHours(1), Duration.ofMinutes(30), 10)
+                .rank(List.of(alice, bob), MONDAY, MONDAY.plus(Duration.ofDays(7)));
+
+        assertThat(ranked).extracting(RankedSlotDTO::getStartTime).containsExactly(
+                at("2025-01-11T10:00:00Z"), at("2025-01-11T10:30:00Z"), at("2025-01-11T11:00:00Z"));
+        assertThat(ranked.get(0).getOutsideBusinessHours()).containsExactly("bob@example.com");
+    }
+
+    private static RankedSlotDTO find(List<RankedSlotDTO> ranked, String start) {
+        return ranked.stream()
+                .filter(slot -> slot.getStartTime().equals(at(start)))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+
+    private static BusyIntervals busy(Event... events) {
+        return BusyIntervals.fromEvents(List.of(events));
+    }
+
+    private static Event event(String start, String end) {
+        Event event = new Event();
+        event.setStartDateTime(at(start));
+        event.setEndDateTime(at(end));
+        return event;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.calendar.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkingHoursProfileTest {
+
+    @Test
+    void defaultProfile_shouldCoverWeekdayBusinessHoursInItsTimezone() {
+        WorkingHoursProfile newYork = WorkingHoursProfile.defaultFor("America/New_York");
+
+        // Monday 2025-01-06, 09:00-17:00 EST = 14:00-22:00 UTC
+        assertThat(newYork.covers(at("2025-01-06T14:00:00Z"), at("2025-01-06T15:00:00Z"))).isTrue();
+        assertThat(newYork.covers(at("2025-01-06T21:00:00Z"), at("2025-01-06T22:00:00Z"))).isTrue();
+        assertThat(newYork.covers(at("2025-01-06T13:30:00Z"), at("2025-01-06T14:30:00Z"))).isFalse();
+        assertThat(newYork.covers(at("2025-01-06T21:30:00Z"), at("2025-01-06T22:30:00Z"))).isFalse();
+        // Saturday
+        assertThat(newYork.covers(at("2025-01-11T15:00:00Z"), at("2025-01-11T16:00:00Z"))).isFalse();
+    }
+
+    @Test
+    void compile_shouldFollowDaylightSavingTransitions() {
+        WorkingHoursProfile london = WorkingHoursProfile.defaultFor("Europe/London");
+        long origin = at("2025-03-28T00:00:00Z").toEpochMilli(); // Friday before BST starts
+        int units = 4 * 96;
+        long[] mask = london.compile(origin, units);
+
+        // Friday 09:00 GMT is 09:00 UTC; Monday 09:00 BST is 08:00 UTC
+        assertThat(WorkingHoursProfile.allSet(mask, 36, 68)).isTrue();
+        assertThat(bit(mask, 35)).isFalse();
+        int monday = 3 * 96;
+        assertThat(WorkingHoursProfile.allSet(mask, monday + 32, monday + 64)).isTrue();
+        assertThat(bit(mask, monday + 31)).isFalse();
+        assertThat(bit(mask, monday + 64)).isFalse();
+        // Nothing over the weekend
+        assertThat(WorkingHoursProfile.nextSetBit(mask, 68)).isEqualTo(monday + 32);
+    }
+
+    @Test
+    void overnightWindow_shouldRunIntoTheNextDay() {
+        // Monday only, 22:00-06:00 UTC
+        WorkingHoursProfile nights = new WorkingHoursProfile(0b1, 22 * 60, 6 * 60, "UTC");
+
+        assertThat(nights.covers(at("2025-01-06T22:00:00Z"), at("2025-01-07T06:00:00Z"))).isTrue();
+        assertThat(nights.covers(at("2025-01-07T05:30:00Z"), at("2025-01-07T06:30:00Z"))).isFalse();
+        assertThat(nights.covers(at("2025-01-07T22:00:00Z"), at("2025-01-07T23:00:00Z"))).isFalse();
+    }
+
+    private static boolean bit(long[] mask, int index) {
+        return (mask[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+}
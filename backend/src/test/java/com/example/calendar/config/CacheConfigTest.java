@@ -40,6 +40,31 @@ public class CacheConfigTest {
         assertThat(cacheManager.getCacheNames()).contains("availability");
     }
 
+    @Test
+    void cacheManagerShouldHaveEventAccessCache() {
+        assertThat(cacheManager.getCacheNames()).contains("eventAccess");
+    }
+
+    @Test
+    void cacheManagerShouldHaveChangeVersionsCache() {
+        assertThat(cacheManager.getCacheNames()).contains("changeVersions");
+    }
+
+    @Test
+    void cacheManagerShouldHaveWorkingHoursCache() {
+        assertThat(cacheManager.getCacheNames()).contains("workingHours");
+    }
+
+    @Test
+    void cacheManagerShouldHaveCollaboratorsCache() {
+        assertThat(cacheManager.getCacheNames()).contains("collaborators");
+    }
+
+    @Test
+    void cacheManagerShouldHaveReadYourWritesCache() {
+        assertThat(cacheManager.getCacheNames()).contains("readYourWrites");
+    }
+
     @Test
     void cacheShouldStoreAndRetrieveValues() {
         var cache = cacheManager.getCache("events");
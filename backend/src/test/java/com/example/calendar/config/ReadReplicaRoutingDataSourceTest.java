@@ -0,0 +1,142 @@
+package com.example.calendar.config;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.shared.CalendarChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Clock clock;
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(ReadYourWritesTracker.CACHE_NAME);
+    private ReadYourWritesTracker tracker;
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        lenient().when(clock.millis()).thenReturn(1_000L);
+        tracker = new ReadYourWritesTracker(cacheManager, Duration.ofSeconds(5), clock);
+        routing = new ReadReplicaRoutingDataSource(primary, replica, tracker);
+        routing.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_shouldRouteByTransactionReadOnlyFlag() throws Exception {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void getConnection_shouldKeepWriterOnPrimaryForTheWindowAfterCommit() throws Exception {
+        signIn("Alice@Example.com");
+
+        beginTransaction(false);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        when(clock.millis()).thenReturn(6_000L);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void getConnection_shouldNotOpenWindowForRolledBackWrite() throws Exception {
+        signIn("alice@example.com");
+
+        beginTransaction(false);
+        routing.getConnection();
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void onCalendarChanged_shouldKeepAffectedUsersOnPrimary() throws Exception {
+        tracker.onCalendarChanged(new CalendarChangedEvent(CalendarChangedEvent.Change.EVENT_CREATED,
+                UUID.randomUUID(), List.of("organizer@example.com", "Invitee@Example.com")));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        signIn("invitee@example.com");
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        signIn("bystander@example.com");
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void getConnection_shouldKeepWriterOnPrimaryOnEveryNodeSharingTheCache() throws Exception {
+        new ReadYourWritesTracker(cacheManager, Duration.ofSeconds(5), clock).recordWrite("alice@example.com");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        signIn("alice@example.com");
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    private static void signIn(String email) {
+        User user = new User();
+        user.setEmail(email);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.calendar.config;
+
+import com.example.calendar.shared.CalendarMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheInvalidationChannelTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RedisCacheInvalidationChannel channel;
+    private final List<String> evicted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        channel = new RedisCacheInvalidationChannel(redisTemplate, objectMapper,
+                new CalendarMetrics(new SimpleMeterRegistry(), false));
+        channel.subscribe((entityName, id) -> evicted.add(entityName + "#" + id));
+    }
+
+    @Test
+    void onMessage_shouldEvictChangesFromOtherNodesOnly() throws Exception {
+        channel.publish("com.example.calendar.auth.User", "42");
+        ArgumentCaptor<String> own = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(RedisCacheInvalidationChannel.CHANNEL), own.capture());
+
+        String other = objectMapper.writeValueAsString(
+                new RedisCacheInvalidationChannel.Envelope("other-node", "com.example.calendar.auth.User", "7"));
+        channel.onMessage(message(own.getValue()), null);
+        channel.onMessage(message(other), null);
+        channel.onMessage(message("not json"), null);
+
+        assertThat(evicted).containsExactly("com.example.calendar.auth.User#7");
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(RedisCacheInvalidationChannel.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
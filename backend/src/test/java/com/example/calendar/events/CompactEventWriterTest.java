@@ -0,0 +1,71 @@
+package com.example.calendar.events;
+
+import com.example.calendar.auth.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactEventWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void write_shouldShareOrganizersAndOmitEmptyFields() throws Exception {
+        User viewer = user("viewer@example.com", "Viewer");
+        User other = user("other@example.com", "Other");
+        Event own = event(viewer, "Standup", "2025-01-06T09:00:00Z", "2025-01-06T09:15:00Z");
+        own.setRecurrenceRule("FREQ=DAILY");
+        Event invited = event(other, "Review", "2025-01-06T10:00:00Z", "2025-01-06T11:00:00Z");
+        invited.setLocation("Room 1");
+        Event again = event(viewer, "Focus", "2025-01-06T13:00:00Z", "2025-01-06T15:00:00Z");
+
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            CompactEventWriter writer = new CompactEventWriter(generator, viewer.getId());
+            writer.writeStart();
+            writer.writeEvent(own);
+            writer.writeEvent(invited);
+            writer.writeEvent(again);
+            writer.writeEnd("next");
+        }
+        JsonNode json = objectMapper.readTree(out.toString());
+
+        assertThat(json.get("events")).hasSize(3);
+        JsonNode first = json.get("events").get(0);
+        assertThat(first.get("start").asLong()).isEqualTo(Instant.parse("2025-01-06T09:00:00Z").toEpochMilli());
+        assertThat(first.get("recurring").asBoolean()).isTrue();
+        assertThat(first.has("location")).isFalse();
+        assertThat(first.has("invited")).isFalse();
+        assertThat(json.get("events").get(1).get("organizer").asInt()).isEqualTo(1);
+        assertThat(json.get("events").get(1).get("invited").asBoolean()).isTrue();
+        assertThat(json.get("events").get(2).get("organizer").asInt()).isZero();
+        assertThat(json.get("organizers")).hasSize(2);
+        assertThat(json.get("organizers").get(1).get("email").asText()).isEqualTo("other@example.com");
+        assertThat(json.get("nextCursor").asText()).isEqualTo("next");
+    }
+
+    private static User user(String email, String name) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setDisplayName(name);
+        return user;
+    }
+
+    private static Event event(User organizer, String title, String start, String end) {
+        Event event = new Event();
+        event.setId(UUID.randomUUID());
+        event.setOrganizer(organizer);
+        event.setTitle(title);
+        event.setStartDateTime(Instant.parse(start));
+        event.setEndDateTime(Instant.parse(end));
+        return event;
+    }
+}
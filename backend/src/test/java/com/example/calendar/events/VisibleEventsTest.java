@@ -0,0 +1,61 @@
+package com.example.calendar.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VisibleEventsTest {
+
+    private static final UUID LOW = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID HIGH = UUID.fromString("f0000000-0000-0000-0000-000000000001");
+
+    @Test
+    void merge_shouldOrderByStartThenIdAsUnsignedBytes() {
+        Event nine = event(UUID.randomUUID(), "2025-01-06T09:00:00Z");
+        Event tenHigh = event(HIGH, "2025-01-06T10:00:00Z");
+        Event tenLow = event(LOW, "2025-01-06T10:00:00Z");
+        Event eleven = event(UUID.randomUUID(), "2025-01-06T11:00:00Z");
+
+        List<Event> merged = VisibleEvents.merge(List.of(nine, tenHigh), List.of(tenLow, eleven), 10);
+
+        // HIGH is negative as a signed long but sorts last in BINARY(16)
+        assertThat(merged).containsExactly(nine, tenLow, tenHigh, eleven);
+    }
+
+    @Test
+    void merge_shouldKeepRepeatedEventOnceAndStopAtLimit() {
+        Event first = event(LOW, "2025-01-06T09:00:00Z");
+        Event second = event(UUID.randomUUID(), "2025-01-06T10:00:00Z");
+        Event third = event(UUID.randomUUID(), "2025-01-06T11:00:00Z");
+
+        List<Event> merged = VisibleEvents.merge(List.of(first, third), List.of(first, first, second), 2);
+
+        assertThat(merged).containsExactly(first, second);
+    }
+
+    @Test
+    void merge_shouldCloseBothStreams() {
+        AtomicInteger closed = new AtomicInteger();
+        Stream<Event> organized = Stream.of(event(LOW, "2025-01-06T09:00:00Z")).onClose(closed::incrementAndGet);
+        Stream<Event> accepted = Stream.of(event(HIGH, "2025-01-06T08:00:00Z")).onClose(closed::incrementAndGet);
+
+        try (Stream<Event> merged = VisibleEvents.merge(organized, accepted)) {
+            assertThat(merged.map(Event::getId)).containsExactly(HIGH, LOW);
+        }
+        assertThat(closed).hasValue(2);
+    }
+
+    private static Event event(UUID id, String start) {
+        Event event = new Event();
+        event.setId(id);
+        event.setStartDateTime(Instant.parse(start));
+        event.setEndDateTime(Instant.parse(start).plusSeconds(3600));
+        return event;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.calendar.ics;
+
+import com.example.calendar.auth.User;
+import com.example.calendar.events.Event;
+import net.fortuna.ical4j.data.CalendarBuilder;
+import net.fortuna.ical4j.model.Calendar;
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.component.VEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ICSWriterTest {
+
+    @Test
+    void escapeText_shouldEscapeSpecialCharacters() {
+        assertThat(ICSWriter.escapeText("a,b;c\\d\r\ne"))
+                .isEqualTo("a\\,b\\;c\\\\d\\ne");
+    }
+
+    @Test
+    void writeLine_shouldFoldAt75Octets() throws Exception {
+        StringWriter out = new StringWriter();
+        new ICSWriter(out).writeLine("DESCRIPTION:" + "é".repeat(100));
+
+        for (String line : out.toString().split("\r\n")) {
+            assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+        }
+        assertThat(out.toString().replace("\r\n ", "").trim())
+                .isEqualTo("DESCRIPTION:" + "é".repeat(100));
+    }
+
+    @Test
+    void writtenDocument_shouldParseWithIcal4j() throws Exception {
+        User organizer = new User();
+        organizer.setEmail("organizer@example.com");
+        organizer.setDisplayName("Organizer");
+
+        Event event = new Event();
+        event.setId(UUID.randomUUID());
+        event.setOrganizer(organizer);
+        event.setTitle("Planning, Q3; review");
+        event.setDescription("Line one\nLine two " + "x".repeat(120));
+        event.setStartDateTime(Instant.parse("2025-03-10T14:00:00Z"));
+        event.setEndDateTime(Instant.parse("2025-03-10T15:00:00Z"));
+        event.setTimezone("UTC");
+
+        StringWriter out = new StringWriter();
+        ICSWriter writer = new ICSWriter(out);
+        writer.writeHeader();
+        writer.writeEvent(event);
+        writer.writeFooter();
+
+        Calendar calendar = new CalendarBuilder().build(new StringReader(out.toString()));
+        List<VEvent> events = calendar.getComponents(Component.VEVENT);
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getSummary().getValue()).isEqualTo("Planning, Q3; review");
+        assertThat(events.get(0).getDescription().getValue()).startsWith("Line one\nLine two");
+        assertThat(events.get(0).getStartDate().getDate().toInstant()).isEqualTo(event.getStartDateTime());
+    }
+}
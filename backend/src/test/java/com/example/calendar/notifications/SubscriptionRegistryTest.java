@@ -0,0 +1,48 @@
+package com.example.calendar.notifications;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubscriptionRegistryTest {
+
+    private final SubscriptionRegistry registry = new SubscriptionRegistry(60_000, 2, 1, 100);
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void subscribe_shouldTrackConnectionsPerUser() {
+        registry.subscribe("a@example.com");
+        registry.subscribe("A@Example.com");
+        registry.subscribe("b@example.com");
+
+        assertThat(registry.getSubscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    void subscribe_shouldRejectConnectionsOverTheLimit() {
+        registry.subscribe("a@example.com");
+        registry.subscribe("a@example.com");
+
+        assertThatThrownBy(() -> registry.subscribe("a@example.com"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(registry.getSubscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deliver_shouldIgnoreUsersWithoutSubscriptions() {
+        ChangeNotificationDTO notification = new ChangeNotificationDTO("EVENT_UPDATED", null, Instant.now());
+
+        assertThatCode(() -> registry.deliver(List.of("nobody@example.com"), notification))
+                .doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.calendar.shared;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalendarMetricsTest {
+
+    @Test
+    void recordAvailabilitySearch_shouldTagByParticipantBucket() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CalendarMetrics metrics = new CalendarMetrics(registry, true);
+
+        metrics.recordAvailabilitySearch(3, metrics.tick());
+        metrics.recordAvailabilitySearch(40, metrics.tick());
+
+        assertThat(registry.get("calendar.availability.search").tag("participants", "2-5").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("calendar.availability.search").tag("participants", "21+").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("calendar.availability.participants").summary().totalAmount())
+                .isEqualTo(43);
+    }
+
+    @Test
+    void participantBucket_shouldCoverAllCounts() {
+        assertThat(CalendarMetrics.participantBucket(1)).isZero();
+        assertThat(CalendarMetrics.participantBucket(5)).isEqualTo(1);
+        assertThat(CalendarMetrics.participantBucket(6)).isEqualTo(2);
+        assertThat(CalendarMetrics.participantBucket(21)).isEqualTo(3);
+    }
+
+    @Test
+    void disabled_shouldRegisterNothingAndIgnoreRecords() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CalendarMetrics metrics = new CalendarMetrics(registry, false);
+
+        assertThat(metrics.tick()).isZero();
+        metrics.recordAvailabilityCheck(2, 0L);
+        metrics.recordIcsStage(CalendarMetrics.IcsStage.PARSE, 0L);
+        metrics.recordRateLimitRejection();
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+}
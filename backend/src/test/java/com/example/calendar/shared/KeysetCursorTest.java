@@ -0,0 +1,38 @@
+package com.example.calendar.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeDecode_shouldRoundTrip() {
+        Instant instant = Instant.parse("2025-03-10T14:30:00Z");
+        UUID id = UUID.randomUUID();
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(instant, id).encode());
+
+        assertThat(decoded.getInstant()).isEqualTo(instant);
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void encode_shouldBeUrlSafe() {
+        String token = new KeysetCursor(Instant.now(), UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void decode_shouldRejectMalformedTokens() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.calendar.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncTokenTest {
+
+    @Test
+    void encodeDecode_shouldRoundTrip() {
+        Instant watermark = Instant.parse("2025-03-10T14:30:00.123Z");
+
+        SyncToken decoded = SyncToken.decode(new SyncToken(watermark).encode());
+
+        assertThat(decoded.getWatermark()).isEqualTo(watermark);
+    }
+
+    @Test
+    void encode_shouldBeUrlSafe() {
+        assertThat(new SyncToken(Instant.now()).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void decode_shouldRejectMalformedTokens() {
+        assertThatThrownBy(() -> SyncToken.decode("not a token"))
+                .isInstanceOf(IllegalArgumentException.class);
+        String cursor = new KeysetCursor(Instant.now(), java.util.UUID.randomUUID()).encode();
+        assertThatThrownBy(() -> SyncToken.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}